@@ -0,0 +1,13 @@
+package com.socialmedia.editor.ai;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart of {@link dev.langchain4j.model.chat.ChatLanguageModel#generate(String)}.
+ * No thread waits for the model while the request is in flight; cancelling the returned future
+ * aborts the upstream request.
+ */
+public interface AsyncChatModel {
+
+    CompletableFuture<String> generateAsync(String prompt);
+}
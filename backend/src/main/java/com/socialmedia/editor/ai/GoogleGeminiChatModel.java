@@ -3,21 +3,25 @@ package com.socialmedia.editor.ai;
 import dev.langchain4j.model.chat.ChatLanguageModel;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.reactive.function.client.WebClient;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Minimal Gemini-backed implementation of ChatLanguageModel using WebClient.
  * Avoids direct dependency on Google AI SDK and mirrors LangChain4j API.
  */
-public class GoogleGeminiChatModel implements ChatLanguageModel {
+public class GoogleGeminiChatModel implements ChatLanguageModel, AsyncChatModel, StreamingChatModel {
     private static final Logger log = LoggerFactory.getLogger(GoogleGeminiChatModel.class);
 
     private final String apiKey;
@@ -44,62 +48,117 @@ public class GoogleGeminiChatModel implements ChatLanguageModel {
 
     @Override
     public String generate(String prompt) {
-        try {
-            ObjectNode requestBody = objectMapper.createObjectNode();
-
-            ArrayNode contents = objectMapper.createArrayNode();
-            ObjectNode content = objectMapper.createObjectNode();
-            ArrayNode parts = objectMapper.createArrayNode();
-            ObjectNode part = objectMapper.createObjectNode();
-            part.put("text", prompt);
-            parts.add(part);
-            content.set("parts", parts);
-            contents.add(content);
-            requestBody.set("contents", contents);
-
-            ObjectNode generationConfig = objectMapper.createObjectNode();
-            generationConfig.put("temperature", temperature);
-            generationConfig.put("maxOutputTokens", maxTokens);
-            requestBody.set("generationConfig", generationConfig);
-
-            String path = "/models/" + modelName + ":generateContent?key=" + apiKey;
-
-            Mono<String> responseMono = webClient.post()
-                    .uri(path)
-                    .contentType(MediaType.APPLICATION_JSON)
-                    .bodyValue(requestBody)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .timeout(Duration.ofSeconds(30));
-
-            String responseBody = responseMono.block();
-            if (responseBody == null) {
-                throw new IllegalStateException("Empty response from Gemini API");
-            }
+        return request(prompt).block();
+    }
+
+    @Override
+    public CompletableFuture<String> generateAsync(String prompt) {
+        return request(prompt).toFuture();
+    }
+
+    private Mono<String> request(String prompt) {
+        String path = "/models/" + modelName + ":generateContent?key=" + apiKey;
+
+        return webClient.post()
+                .uri(path)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(buildRequestBody(prompt))
+                .retrieve()
+                .bodyToMono(String.class)
+                .timeout(Duration.ofSeconds(30))
+                .switchIfEmpty(Mono.error(new IllegalStateException("Empty response from Gemini API")))
+                .<String>handle((responseBody, sink) -> {
+                    String text;
+                    try {
+                        text = extractText(objectMapper.readTree(responseBody));
+                    } catch (Exception e) {
+                        sink.error(e);
+                        return;
+                    }
+                    if (text != null) {
+                        sink.next(text);
+                    } else {
+                        sink.error(new IllegalStateException("No content generated from Gemini API"));
+                    }
+                })
+                .onErrorMap(e -> {
+                    log.error("Gemini generation error: {}", e.getMessage());
+                    return new RuntimeException("Gemini generation failed: " + e.getMessage(), e);
+                });
+    }
 
-            JsonNode responseJson = objectMapper.readTree(responseBody);
-            JsonNode candidates = responseJson.get("candidates");
-
-            if (candidates != null && candidates.isArray() && candidates.size() > 0) {
-                JsonNode firstCandidate = candidates.get(0);
-                JsonNode respContent = firstCandidate.get("content");
-                if (respContent != null) {
-                    JsonNode respParts = respContent.get("parts");
-                    if (respParts != null && respParts.isArray() && respParts.size() > 0) {
-                        JsonNode firstPart = respParts.get(0);
-                        JsonNode text = firstPart.get("text");
-                        if (text != null) {
-                            return text.asText();
+    /**
+     * Streams the completion through {@code streamGenerateContent}, which sends one server-sent
+     * event per chunk of candidates. The timeout applies between chunks, not to the whole answer.
+     */
+    @Override
+    public Flux<String> stream(String prompt) {
+        String path = "/models/" + modelName + ":streamGenerateContent?alt=sse&key=" + apiKey;
+
+        return webClient.post()
+                .uri(path)
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .bodyValue(buildRequestBody(prompt))
+                .retrieve()
+                .bodyToFlux(new ParameterizedTypeReference<ServerSentEvent<String>>() {})
+                .timeout(Duration.ofSeconds(30))
+                .mapNotNull(ServerSentEvent::data)
+                .<String>handle((data, sink) -> {
+                    try {
+                        String text = extractText(objectMapper.readTree(data));
+                        if (text != null && !text.isEmpty()) {
+                            sink.next(text);
                         }
+                    } catch (Exception e) {
+                        sink.error(new RuntimeException("Gemini streaming failed: unreadable chunk", e));
+                    }
+                })
+                .doOnError(e -> log.error("Gemini streaming error: {}", e.getMessage()));
+    }
+
+    private ObjectNode buildRequestBody(String prompt) {
+        ObjectNode requestBody = objectMapper.createObjectNode();
+
+        ArrayNode contents = objectMapper.createArrayNode();
+        ObjectNode content = objectMapper.createObjectNode();
+        ArrayNode parts = objectMapper.createArrayNode();
+        ObjectNode part = objectMapper.createObjectNode();
+        part.put("text", prompt);
+        parts.add(part);
+        content.set("parts", parts);
+        contents.add(content);
+        requestBody.set("contents", contents);
+
+        ObjectNode generationConfig = objectMapper.createObjectNode();
+        generationConfig.put("temperature", temperature);
+        generationConfig.put("maxOutputTokens", maxTokens);
+        requestBody.set("generationConfig", generationConfig);
+
+        return requestBody;
+    }
+
+    /**
+     * @return the text of the first candidate's first part, or null if there is none
+     */
+    private String extractText(JsonNode responseJson) {
+        JsonNode candidates = responseJson.get("candidates");
+
+        if (candidates != null && candidates.isArray() && candidates.size() > 0) {
+            JsonNode firstCandidate = candidates.get(0);
+            JsonNode respContent = firstCandidate.get("content");
+            if (respContent != null) {
+                JsonNode respParts = respContent.get("parts");
+                if (respParts != null && respParts.isArray() && respParts.size() > 0) {
+                    JsonNode firstPart = respParts.get(0);
+                    JsonNode text = firstPart.get("text");
+                    if (text != null) {
+                        return text.asText();
                     }
                 }
             }
-
-            throw new IllegalStateException("No content generated from Gemini API");
-        } catch (Exception e) {
-            log.error("Gemini generation error: {}", e.getMessage());
-            throw new RuntimeException("Gemini generation failed: " + e.getMessage(), e);
         }
+        return null;
     }
 
     public static class Builder {
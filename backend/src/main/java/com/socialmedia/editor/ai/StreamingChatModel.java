@@ -0,0 +1,13 @@
+package com.socialmedia.editor.ai;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Streaming counterpart of {@link dev.langchain4j.model.chat.ChatLanguageModel#generate(String)}:
+ * the completion is emitted in chunks as the model produces them. Cancelling the subscription
+ * aborts the upstream request.
+ */
+public interface StreamingChatModel {
+
+    Flux<String> stream(String prompt);
+}
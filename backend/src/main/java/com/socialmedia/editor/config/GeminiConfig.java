@@ -1,7 +1,6 @@
 package com.socialmedia.editor.config;
 
 import com.socialmedia.editor.ai.GoogleGeminiChatModel;
-import dev.langchain4j.model.chat.ChatLanguageModel;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -21,9 +20,16 @@ public class GeminiConfig {
     @Value("${gemini.max-tokens:1024}")
     private int maxTokens;
 
+    @Value("${gemini.base-url:https://generativelanguage.googleapis.com/v1beta}")
+    private String baseUrl;
+
+    // exposed as the concrete type so it can be injected as ChatLanguageModel, AsyncChatModel and StreamingChatModel
     @Bean
-    public ChatLanguageModel chatLanguageModel() {
+    public GoogleGeminiChatModel chatLanguageModel(HttpClientRegistry httpClientRegistry) {
         return GoogleGeminiChatModel.builder()
+                .webClient(httpClientRegistry.webClient("gemini")
+                        .baseUrl(baseUrl)
+                        .build())
                 .apiKey(apiKey)
                 .modelName(model)
                 .temperature(temperature)
@@ -46,4 +52,8 @@ public class GeminiConfig {
     public int getMaxTokens() {
         return maxTokens;
     }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,95 @@
+package com.socialmedia.editor.config;
+
+import io.netty.channel.ChannelOption;
+import io.netty.handler.logging.LogLevel;
+import io.netty.handler.logging.LoggingHandler;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import io.netty.handler.timeout.WriteTimeoutHandler;
+import jakarta.annotation.PreDestroy;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the WebClients for outbound calls, one named Reactor Netty connection pool per upstream
+ * (see {@link HttpClientConfig}), so upstreams cannot exhaust each other's connections.
+ * <p>
+ * Pool gauges ({@code reactor.netty.connection.provider.*}: active, idle, pending acquires) and
+ * client timings ({@code reactor.netty.http.client.*}) are published through Micrometer, tagged
+ * with the pool name. Wiretap logging can be sampled per connection; it logs headers and bodies,
+ * including credentials, so only enable it while debugging.
+ */
+@Component
+public class HttpClientRegistry {
+
+    private final HttpClientConfig httpClientConfig;
+
+    private final ConcurrentMap<String, ConnectionProvider> pools = new ConcurrentHashMap<>();
+
+    public HttpClientRegistry(HttpClientConfig httpClientConfig) {
+        this.httpClientConfig = httpClientConfig;
+    }
+
+    /**
+     * @return a builder whose requests go through the named pool; callers add base URL, default
+     * headers and codecs as before
+     */
+    public WebClient.Builder webClient(String name) {
+        return WebClient.builder().clientConnector(new ReactorClientHttpConnector(httpClient(name)));
+    }
+
+    public HttpClient httpClient(String name) {
+        HttpClientConfig.Client settings = httpClientConfig.getClient(name);
+        ConnectionProvider pool = pools.computeIfAbsent(name, poolName -> ConnectionProvider.builder(poolName)
+                .maxConnections(settings.getMaxConnections())
+                .pendingAcquireMaxCount(settings.getPendingAcquireMaxCount())
+                .pendingAcquireTimeout(settings.getPendingAcquireTimeout())
+                .maxIdleTime(settings.getMaxIdleTime())
+                .maxLifeTime(settings.getMaxLifeTime())
+                .evictInBackground(settings.getEvictionInterval())
+                .metrics(true)
+                .build());
+
+        long readTimeoutMillis = settings.getReadTimeout().toMillis();
+        long writeTimeoutMillis = settings.getWriteTimeout().toMillis();
+        double wiretapSampleRate = settings.getWiretapSampleRate();
+        HttpClient client = HttpClient.create(pool)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) settings.getConnectTimeout().toMillis())
+                .responseTimeout(settings.getResponseTimeout())
+                // tag by path only: the Gemini key travels in the query string
+                .metrics(true, HttpClientRegistry::withoutQuery)
+                // handlers added through the Connection are removed again when it returns to the
+                // pool, so idle pooled connections are not closed by the read timeout
+                .doOnRequest((request, connection) -> connection
+                        .addHandlerLast(new ReadTimeoutHandler(readTimeoutMillis, TimeUnit.MILLISECONDS))
+                        .addHandlerLast(new WriteTimeoutHandler(writeTimeoutMillis, TimeUnit.MILLISECONDS)))
+                .doOnConnected(connection -> {
+                    if (wiretapSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < wiretapSampleRate) {
+                        connection.channel().pipeline().addFirst("wiretap",
+                                new LoggingHandler("reactor.netty.http.client.wiretap." + name, LogLevel.DEBUG));
+                    }
+                });
+        if (settings.isHttp2()) {
+            client = client.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure();
+        }
+        return client;
+    }
+
+    @PreDestroy
+    public void dispose() {
+        pools.values().forEach(ConnectionProvider::dispose);
+    }
+
+    private static String withoutQuery(String uri) {
+        int query = uri.indexOf('?');
+        return query < 0 ? uri : uri.substring(0, query);
+    }
+}
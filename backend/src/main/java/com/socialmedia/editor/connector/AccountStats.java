@@ -0,0 +1,31 @@
+package com.socialmedia.editor.connector;
+
+/**
+ * Audience numbers of an account as reported by its platform.
+ */
+public class AccountStats {
+
+    private final long followersCount;
+
+    private final long followingCount;
+
+    private final long postsCount;
+
+    public AccountStats(long followersCount, long followingCount, long postsCount) {
+        this.followersCount = followersCount;
+        this.followingCount = followingCount;
+        this.postsCount = postsCount;
+    }
+
+    public long getFollowersCount() {
+        return followersCount;
+    }
+
+    public long getFollowingCount() {
+        return followingCount;
+    }
+
+    public long getPostsCount() {
+        return postsCount;
+    }
+}
@@ -0,0 +1,14 @@
+package com.socialmedia.editor.connector;
+
+/**
+ * Thrown when a connector call exceeds its platform's timeout. The call may still be running and
+ * may yet take effect on the platform, so its outcome is unknown rather than failed.
+ */
+public class ConnectorTimeoutException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ConnectorTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,57 @@
+package com.socialmedia.editor.connector;
+
+import com.socialmedia.editor.dto.LinkedInStatsDto;
+import com.socialmedia.editor.model.SocialMediaAccount;
+import com.socialmedia.editor.service.LinkedInConnectorService;
+import com.socialmedia.editor.service.LinkedInTokenExpiredException;
+import com.socialmedia.editor.service.LinkedInTokenService;
+import org.springframework.stereotype.Component;
+
+@Component
+public class LinkedInPlatformConnector implements PlatformConnector {
+
+    private final LinkedInConnectorService linkedInConnectorService;
+
+    private final LinkedInTokenService linkedInTokenService;
+
+    public LinkedInPlatformConnector(LinkedInConnectorService linkedInConnectorService,
+                                     LinkedInTokenService linkedInTokenService) {
+        this.linkedInConnectorService = linkedInConnectorService;
+        this.linkedInTokenService = linkedInTokenService;
+    }
+
+    @Override
+    public SocialMediaAccount.Platform getPlatform() {
+        return SocialMediaAccount.Platform.LINKEDIN;
+    }
+
+    @Override
+    public AccountStats fetchStats(SocialMediaAccount account) {
+        LinkedInStatsDto stats = linkedInTokenService
+                .withAccessToken(account, linkedInConnectorService::getUserStats)
+                .block();
+        // LinkedIn does not expose a post count for members
+        return new AccountStats(stats.getFollowersCount(), stats.getEffectiveConnectionsCount(), 0L);
+    }
+
+    @Override
+    public void refreshToken(SocialMediaAccount account) {
+        linkedInTokenService.refreshAccessToken(account).block();
+    }
+
+    @Override
+    public String publish(SocialMediaAccount account, String content) {
+        return linkedInTokenService
+                .withAccessToken(account, accessToken -> linkedInConnectorService.publishPost(accessToken, content))
+                .block();
+    }
+
+    @Override
+    public boolean validate(SocialMediaAccount account) {
+        return Boolean.TRUE.equals(linkedInTokenService
+                .withAccessToken(account, linkedInConnectorService::getUserProfile)
+                .map(profile -> true)
+                .onErrorReturn(LinkedInTokenExpiredException.class, false)
+                .block());
+    }
+}
@@ -0,0 +1,38 @@
+package com.socialmedia.editor.connector;
+
+import com.socialmedia.editor.model.SocialMediaAccount;
+
+/**
+ * Integration with one social network. Implementations are Spring beans and are picked up by
+ * {@link PlatformConnectorRegistry}, which runs every call on the connector's own bounded executor
+ * with its own timeout, so implementations may block.
+ * <p>
+ * Failures are reported as {@link RuntimeException}s with a message fit for the user.
+ */
+public interface PlatformConnector {
+
+    SocialMediaAccount.Platform getPlatform();
+
+    /**
+     * Fetches the account's current audience numbers. Token problems are handled by the connector,
+     * e.g. by refreshing an expired token and trying again.
+     */
+    AccountStats fetchStats(SocialMediaAccount account);
+
+    /**
+     * Renews the account's access token and stores it on the account.
+     */
+    void refreshToken(SocialMediaAccount account);
+
+    /**
+     * Publishes a text post on the account.
+     *
+     * @return the id the platform assigned to the post, or an empty string if it returned none
+     */
+    String publish(SocialMediaAccount account, String content);
+
+    /**
+     * @return whether the platform still accepts the account's credentials
+     */
+    boolean validate(SocialMediaAccount account);
+}
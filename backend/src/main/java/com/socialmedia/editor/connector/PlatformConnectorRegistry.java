@@ -0,0 +1,169 @@
+package com.socialmedia.editor.connector;
+
+import com.socialmedia.editor.model.SocialMediaAccount;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+
+/**
+ * Looks up the {@link PlatformConnector} of each platform and isolates them from each other.
+ * <p>
+ * Every connector gets its own bounded executor acting as a bulkhead
+ * ({@code connectors.<platform>.concurrency} threads and {@code queue-capacity} waiting calls,
+ * falling back to {@code connectors.default.*}) and its own {@code timeout}. A slow or broken
+ * integration can only exhaust its own threads; callers see a saturated or timed-out connector as
+ * a failed future, the latter with {@link ConnectorTimeoutException}. Calls are timed as {@code platform.connector.calls{platform,operation,outcome}}.
+ */
+@Service
+public class PlatformConnectorRegistry {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<SocialMediaAccount.Platform, Bulkhead> bulkheads =
+            new EnumMap<>(SocialMediaAccount.Platform.class);
+
+    public PlatformConnectorRegistry(List<PlatformConnector> connectors,
+                                     MeterRegistry meterRegistry,
+                                     Environment environment,
+                                     @Value("${connectors.default.concurrency:4}") int defaultConcurrency,
+                                     @Value("${connectors.default.queue-capacity:50}") int defaultQueueCapacity,
+                                     @Value("${connectors.default.timeout:30s}") Duration defaultTimeout) {
+        this.meterRegistry = meterRegistry;
+        for (PlatformConnector connector : connectors) {
+            SocialMediaAccount.Platform platform = connector.getPlatform();
+            if (bulkheads.containsKey(platform)) {
+                throw new IllegalStateException("More than one connector registered for " + platform);
+            }
+            String name = platform.name().toLowerCase();
+            int concurrency = environment.getProperty("connectors." + name + ".concurrency",
+                    Integer.class, defaultConcurrency);
+            int queueCapacity = environment.getProperty("connectors." + name + ".queue-capacity",
+                    Integer.class, defaultQueueCapacity);
+            String configuredTimeout = environment.getProperty("connectors." + name + ".timeout");
+            Duration timeout = configuredTimeout != null ? DurationStyle.detectAndParse(configuredTimeout) : defaultTimeout;
+
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(concurrency, concurrency,
+                    60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueCapacity),
+                    new CustomizableThreadFactory("connector-" + name + "-"), new ThreadPoolExecutor.AbortPolicy());
+            executor.allowCoreThreadTimeOut(true);
+            bulkheads.put(platform, new Bulkhead(connector, executor, timeout));
+            Gauge.builder("platform.connector.active", executor, ThreadPoolExecutor::getActiveCount)
+                    .tag("platform", name)
+                    .register(meterRegistry);
+            Gauge.builder("platform.connector.queue.depth", executor, e -> e.getQueue().size())
+                    .tag("platform", name)
+                    .register(meterRegistry);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        bulkheads.values().forEach(bulkhead -> bulkhead.executor.shutdown());
+    }
+
+    public boolean supports(SocialMediaAccount.Platform platform) {
+        return bulkheads.containsKey(platform);
+    }
+
+    public CompletableFuture<AccountStats> fetchStats(SocialMediaAccount account) {
+        return call(account.getPlatform(), "fetch_stats", connector -> connector.fetchStats(account));
+    }
+
+    public CompletableFuture<Void> refreshToken(SocialMediaAccount account) {
+        return call(account.getPlatform(), "refresh_token", connector -> {
+            connector.refreshToken(account);
+            return null;
+        });
+    }
+
+    public CompletableFuture<String> publish(SocialMediaAccount account, String content) {
+        return call(account.getPlatform(), "publish", connector -> connector.publish(account, content));
+    }
+
+    public CompletableFuture<Boolean> validate(SocialMediaAccount account) {
+        return call(account.getPlatform(), "validate", connector -> connector.validate(account));
+    }
+
+    /**
+     * Waits for a connector call and rethrows its failure unwrapped, for callers that are blocking
+     * anyway.
+     */
+    public static <T> T await(CompletableFuture<T> call) {
+        try {
+            return call.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private <T> CompletableFuture<T> call(SocialMediaAccount.Platform platform, String operation,
+                                          Function<PlatformConnector, T> work) {
+        Bulkhead bulkhead = bulkheads.get(platform);
+        if (bulkhead == null) {
+            return CompletableFuture.failedFuture(new RuntimeException(platform + " is not supported yet"));
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<T> result;
+        try {
+            result = CompletableFuture.supplyAsync(() -> work.apply(bulkhead.connector), bulkhead.executor);
+        } catch (RejectedExecutionException e) {
+            result = CompletableFuture.failedFuture(new RuntimeException(platform + " is busy, try again later"));
+        }
+        // the timeout releases the caller, not the connector thread; a hung call keeps occupying
+        // its own platform's pool only
+        return result
+                .orTimeout(bulkhead.timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(error -> {
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    if (cause instanceof TimeoutException) {
+                        throw new CompletionException(new ConnectorTimeoutException(platform + " did not answer in time"));
+                    }
+                    throw error instanceof CompletionException ? (CompletionException) error : new CompletionException(cause);
+                })
+                .whenComplete((value, error) -> Timer.builder("platform.connector.calls")
+                        .tag("platform", platform.name().toLowerCase())
+                        .tag("operation", operation)
+                        .tag("outcome", error == null ? "success" : "failure")
+                        .register(meterRegistry)
+                        .record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    }
+
+    private static class Bulkhead {
+
+        private final PlatformConnector connector;
+
+        private final ThreadPoolExecutor executor;
+
+        private final Duration timeout;
+
+        Bulkhead(PlatformConnector connector, ThreadPoolExecutor executor, Duration timeout) {
+            this.connector = connector;
+            this.executor = executor;
+            this.timeout = timeout;
+        }
+    }
+}
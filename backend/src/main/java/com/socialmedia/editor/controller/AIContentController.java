@@ -4,12 +4,22 @@ import com.socialmedia.editor.dto.AIContentRequest;
 import com.socialmedia.editor.dto.AIContentResponse;
 import com.socialmedia.editor.model.User;
 import com.socialmedia.editor.service.AIContentService;
-import com.socialmedia.editor.service.AuthService;
+import com.socialmedia.editor.service.AIOverloadedException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.springframework.http.ResponseEntity.badRequest;
 import static org.springframework.http.ResponseEntity.ok;
@@ -21,89 +31,122 @@ public class AIContentController {
 
     private final AIContentService aiContentService;
 
-    private final AuthService authService;
-
-    public AIContentController(AIContentService aiContentService, AuthService authService) {
+    public AIContentController(AIContentService aiContentService) {
         this.aiContentService = aiContentService;
-        this.authService = authService;
     }
 
     @PostMapping("/generate")
-    public ResponseEntity<AIContentResponse> generateContent(
+    public CompletableFuture<ResponseEntity<AIContentResponse>> generateContent(
             @Valid @RequestBody AIContentRequest request,
-            Authentication authentication) {
+            @AuthenticationPrincipal User user) {
         try {
-            User user = authService.getCurrentUser(authentication);
-            AIContentResponse response = aiContentService.generateContent(request);
-            return ok(response);
+            return aiContentService.generateContent(request, user)
+                    .thenApply(ResponseEntity::ok)
+                    .exceptionally(e -> failed(e, "Failed to generate content"));
         } catch (Exception e) {
-            AIContentResponse errorResponse = new AIContentResponse("Failed to generate content", false);
-            return badRequest().body(errorResponse);
+            return CompletableFuture.completedFuture(failed("Failed to generate content"));
         }
     }
 
     @PostMapping("/improve")
-    public ResponseEntity<AIContentResponse> improveContent(
+    public CompletableFuture<ResponseEntity<AIContentResponse>> improveContent(
             @Valid @RequestBody AIContentRequest request,
-            Authentication authentication) {
+            @AuthenticationPrincipal User user) {
         try {
-            User user = authService.getCurrentUser(authentication);
-
             if (request.getExistingContent() == null || request.getExistingContent().trim().isEmpty()) {
-                AIContentResponse errorResponse = new AIContentResponse("Existing content is required for improvement", false);
-                return badRequest().body(errorResponse);
+                return CompletableFuture.completedFuture(failed("Existing content is required for improvement"));
             }
 
-            AIContentResponse response = aiContentService.improveContent(request);
-            return ok(response);
+            return aiContentService.improveContent(request, user)
+                    .thenApply(ResponseEntity::ok)
+                    .exceptionally(e -> failed(e, "Failed to improve content"));
         } catch (Exception e) {
-            AIContentResponse errorResponse = new AIContentResponse("Failed to improve content", false);
-            return badRequest().body(errorResponse);
+            return CompletableFuture.completedFuture(failed("Failed to improve content"));
         }
     }
 
+    /**
+     * Streams the generated post as server-sent events: {@code chunk} events carrying
+     * {@code {"text": ...}} as Gemini produces them, then a single {@code done} or {@code error}
+     * event. When the client goes away the subscription is cancelled, which aborts the Gemini call.
+     */
+    @PostMapping(value = "/generate/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Map<String, String>>> streamContent(
+            @Valid @RequestBody AIContentRequest request,
+            @AuthenticationPrincipal User user) {
+        return toEvents(aiContentService.streamContent(request, user), "Failed to generate content");
+    }
+
+    @PostMapping(value = "/improve/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Map<String, String>>> streamImprovedContent(
+            @Valid @RequestBody AIContentRequest request,
+            @AuthenticationPrincipal User user) {
+        if (request.getExistingContent() == null || request.getExistingContent().trim().isEmpty()) {
+            return Flux.just(event("error", "Existing content is required for improvement"));
+        }
+        return toEvents(aiContentService.streamImprovedContent(request, user), "Failed to improve content");
+    }
+
     @PostMapping("/hashtags")
-    public ResponseEntity<AIContentResponse> generateHashtags(
+    public CompletableFuture<ResponseEntity<AIContentResponse>> generateHashtags(
             @Valid @RequestBody AIContentRequest request,
-            Authentication authentication) {
+            @AuthenticationPrincipal User user) {
         try {
-            User user = authService.getCurrentUser(authentication);
-
-            AIContentResponse response = aiContentService.generateHashtags(request);
-            return ok(response);
+            return aiContentService.generateHashtags(request, user)
+                    .thenApply(ResponseEntity::ok)
+                    .exceptionally(e -> failed(e, "Failed to generate hashtags"));
         } catch (Exception e) {
-            AIContentResponse errorResponse = new AIContentResponse("Failed to generate hashtags", false);
-            return badRequest().body(errorResponse);
+            return CompletableFuture.completedFuture(failed("Failed to generate hashtags"));
         }
     }
 
     @PostMapping("/variations")
-    public ResponseEntity<AIContentResponse> generateVariations(
+    public CompletableFuture<ResponseEntity<AIContentResponse>> generateVariations(
             @Valid @RequestBody AIContentRequest request,
-            Authentication authentication) {
+            @AuthenticationPrincipal User user) {
         try {
-            User user = authService.getCurrentUser(authentication);
-
             if (request.getExistingContent() == null || request.getExistingContent().trim().isEmpty()) {
                 if (request.getPrompt() == null || request.getPrompt().trim().isEmpty()) {
-                    AIContentResponse errorResponse = new AIContentResponse("Content or prompt is required for variations", false);
-                    return badRequest().body(errorResponse);
+                    return CompletableFuture.completedFuture(failed("Content or prompt is required for variations"));
                 }
             }
 
-            AIContentResponse response = aiContentService.generateVariations(request);
-            return ok(response);
+            return aiContentService.generateVariations(request, user)
+                    .thenApply(ResponseEntity::ok)
+                    .exceptionally(e -> failed(e, "Failed to generate variations"));
         } catch (Exception e) {
-            AIContentResponse errorResponse = new AIContentResponse("Failed to generate variations", false);
-            return badRequest().body(errorResponse);
+            return CompletableFuture.completedFuture(failed("Failed to generate variations"));
+        }
+    }
+
+    private ResponseEntity<AIContentResponse> failed(String message) {
+        return badRequest().body(new AIContentResponse(message, false));
+    }
+
+    private ResponseEntity<AIContentResponse> failed(Throwable error, String message) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof AIOverloadedException) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, "1")
+                    .body(new AIContentResponse(cause.getMessage(), false));
         }
+        return failed(message);
+    }
+
+    private Flux<ServerSentEvent<Map<String, String>>> toEvents(Flux<String> chunks, String errorMessage) {
+        return chunks
+                .map(chunk -> event("chunk", chunk))
+                .concatWith(Mono.just(event("done", "")))
+                .onErrorResume(e -> Mono.just(event("error", errorMessage)));
+    }
+
+    private ServerSentEvent<Map<String, String>> event(String name, String text) {
+        return ServerSentEvent.builder(Map.of("text", text)).event(name).build();
     }
 
     @GetMapping("/status")
-    public ResponseEntity<String> getStatus(Authentication authentication) {
+    public ResponseEntity<String> getStatus(@AuthenticationPrincipal User user) {
         try {
-            User user = authService.getCurrentUser(authentication);
-
             return ok("AI Content service is available");
         } catch (Exception e) {
             return badRequest().body("AI Content service unavailable");
@@ -2,8 +2,12 @@ package com.socialmedia.editor.controller;
 
 import com.socialmedia.editor.model.User;
 import com.socialmedia.editor.service.AuthService;
+import com.socialmedia.editor.service.PasswordHashingSaturatedException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -22,7 +26,12 @@ public class AuthController {
 
     @PostMapping("/login")
     public ResponseEntity<?> authenticateUser(@RequestBody LoginRequest loginRequest) {
-        String token = authService.authenticateUser(loginRequest.getUsername(), loginRequest.getPassword());
+        String token;
+        try {
+            token = authService.authenticateUser(loginRequest.getUsername(), loginRequest.getPassword());
+        } catch (PasswordHashingSaturatedException e) {
+            return tooManyRequests();
+        }
 
         if (token != null) {
             Map<String, String> response = new HashMap<>();
@@ -43,11 +52,41 @@ public class AuthController {
                     registerRequest.getPassword()
             );
             return ResponseEntity.ok("User registered successfully");
+        } catch (PasswordHashingSaturatedException e) {
+            return tooManyRequests();
         } catch (RuntimeException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
 
+    @PostMapping("/logout")
+    public ResponseEntity<String> logout(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader) {
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return ResponseEntity.badRequest().body("Missing bearer token");
+        }
+        try {
+            authService.logout(authHeader.substring(7));
+            return ResponseEntity.ok("Logged out successfully");
+        } catch (RuntimeException e) {
+            return ResponseEntity.badRequest().body("Invalid token");
+        }
+    }
+
+    @PostMapping("/revoke-all")
+    public ResponseEntity<String> revokeAllSessions(@AuthenticationPrincipal User user) {
+        if (user == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Not authenticated");
+        }
+        authService.revokeAllSessions(user);
+        return ResponseEntity.ok("All sessions revoked");
+    }
+
+    private ResponseEntity<String> tooManyRequests() {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body("Too many requests, please try again shortly");
+    }
+
     public static class LoginRequest {
         private String username;
         private String password;
@@ -1,16 +1,17 @@
 package com.socialmedia.editor.controller;
 
+import com.socialmedia.editor.dto.AccountRefreshJobDto;
 import com.socialmedia.editor.dto.DashboardStatsDto;
 import com.socialmedia.editor.model.User;
-import com.socialmedia.editor.service.AuthService;
 import com.socialmedia.editor.service.DashboardService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import static org.springframework.http.ResponseEntity.accepted;
 import static org.springframework.http.ResponseEntity.badRequest;
 import static org.springframework.http.ResponseEntity.ok;
 
@@ -23,17 +24,13 @@ public class DashboardController {
 
     private final DashboardService dashboardService;
 
-    private final AuthService authService;
-
-    public DashboardController(DashboardService dashboardService, AuthService authService) {
+    public DashboardController(DashboardService dashboardService) {
         this.dashboardService = dashboardService;
-        this.authService = authService;
     }
 
     @GetMapping("/stats")
-    public ResponseEntity<DashboardStatsDto> getDashboardStats(Authentication authentication) {
+    public ResponseEntity<DashboardStatsDto> getDashboardStats(@AuthenticationPrincipal User user) {
         try {
-            User user = authService.getCurrentUser(authentication);
             DashboardStatsDto stats = dashboardService.getDashboardStats(user);
             return ok(stats);
         } catch (Exception e) {
@@ -43,13 +40,21 @@ public class DashboardController {
     }
 
     @PostMapping("/refresh")
-    public ResponseEntity<String> refreshAccountStats(Authentication authentication) {
+    public ResponseEntity<AccountRefreshJobDto> refreshAccountStats(@AuthenticationPrincipal User user) {
         try {
-            User user = authService.getCurrentUser(authentication);
-            dashboardService.refreshAllAccountStats(user);
-            return ok("Account stats refreshed successfully");
+            AccountRefreshJobDto job = dashboardService.refreshAllAccountStats(user);
+            return accepted().body(job);
         } catch (Exception e) {
-            return badRequest().body("Failed to refresh account stats");
+            LOG.error("Failed to start account stats refresh", e);
+            return badRequest().build();
         }
     }
+
+    @GetMapping("/refresh/{jobId}")
+    public ResponseEntity<AccountRefreshJobDto> getRefreshStatus(@PathVariable String jobId,
+                                                                 @AuthenticationPrincipal User user) {
+        return dashboardService.getRefreshJob(jobId, user)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 }
\ No newline at end of file
@@ -5,15 +5,18 @@ import com.socialmedia.editor.dto.LinkedInStatsDto;
 import com.socialmedia.editor.dto.LinkedInTokenResponseDto;
 import com.socialmedia.editor.model.SocialMediaAccount;
 import com.socialmedia.editor.model.User;
-import com.socialmedia.editor.service.AuthService;
 import com.socialmedia.editor.service.LinkedInConnectorService;
+import com.socialmedia.editor.service.LinkedInTokenExpiredException;
+import com.socialmedia.editor.service.LinkedInTokenService;
 import com.socialmedia.editor.service.SocialMediaService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 import java.net.URI;
 import java.util.HashMap;
@@ -30,12 +33,13 @@ public class LinkedInOAuthController {
 
     private final SocialMediaService socialMediaService;
 
-    private final AuthService authService;
+    private final LinkedInTokenService linkedInTokenService;
 
-    public LinkedInOAuthController(LinkedInConnectorService linkedInConnectorService, SocialMediaService socialMediaService, AuthService authService) {
+    public LinkedInOAuthController(LinkedInConnectorService linkedInConnectorService, SocialMediaService socialMediaService,
+                                   LinkedInTokenService linkedInTokenService) {
         this.linkedInConnectorService = linkedInConnectorService;
         this.socialMediaService = socialMediaService;
-        this.authService = authService;
+        this.linkedInTokenService = linkedInTokenService;
     }
 
     @GetMapping("/authorize")
@@ -53,163 +57,123 @@ public class LinkedInOAuthController {
     }
 
     @GetMapping("/callback")
-    public ResponseEntity<?> handleCallback(@RequestParam("code") String authorizationCode,
-                                          @RequestParam(value = "state", required = false) String state,
-                                          @RequestParam(value = "error", required = false) String error,
-                                          Authentication authentication) {
-        try {
-            if (error != null) {
-                logger.error("LinkedIn OAuth error: {}", error);
-                return ResponseEntity.status(302)
-                    .location(URI.create("http://localhost:3000/dashboard?linkedin_error=" + error))
-                    .build();
-            }
-
-            if (authorizationCode == null) {
-                return ResponseEntity.status(302)
-                    .location(URI.create("http://localhost:3000/dashboard?linkedin_error=no_code"))
-                    .build();
-            }
-
-            User user = authService.getCurrentUser(authentication);
-
-            LinkedInTokenResponseDto tokenResponse = linkedInConnectorService
-                    .exchangeAuthorizationCode(authorizationCode)
-                    .block();
-
-            if (tokenResponse == null || tokenResponse.getAccessToken() == null) {
-                return ResponseEntity.status(302)
-                    .location(URI.create("http://localhost:3000/dashboard?linkedin_error=token_exchange_failed"))
-                    .build();
-            }
-
-            LinkedInProfileDto profile = linkedInConnectorService
-                    .getUserProfile(tokenResponse.getAccessToken())
-                    .block();
-
-            String email = profile.getEmail();
-            if (profile == null) {
-                return ResponseEntity.status(302)
-                    .location(URI.create("http://localhost:3000/dashboard?linkedin_error=profile_fetch_failed"))
-                    .build();
-            }
-
-            String accountName = profile.getFullName();
-            String accountUsername = email != null ? email : profile.getId();
-
-            SocialMediaAccount account = socialMediaService.addAccount(
-                    user,
-                    SocialMediaAccount.Platform.LINKEDIN,
-                    accountName,
-                    accountUsername,
-                    tokenResponse.getAccessToken(),
-                    tokenResponse.getRefreshToken()
-            );
-
-            if (profile.getProfileImageUrl() != null) {
-                account.setProfileImageUrl(profile.getProfileImageUrl());
-            }
-
-            LinkedInStatsDto stats = linkedInConnectorService
-                    .getUserStats(tokenResponse.getAccessToken())
-                    .block();
-
-            if (stats != null) {
-                account.setFollowersCount(stats.getFollowersCount());
-                account.setFollowingCount(stats.getEffectiveConnectionsCount());
-                account.setPostsCount(0L);
-            }
-
-            return ResponseEntity.status(302)
-                .location(URI.create("http://localhost:3000/dashboard?linkedin_success=true"))
-                .build();
+    public Mono<ResponseEntity<?>> handleCallback(@RequestParam("code") String authorizationCode,
+                                                  @RequestParam(value = "state", required = false) String state,
+                                                  @RequestParam(value = "error", required = false) String error,
+                                                  @AuthenticationPrincipal User user) {
+        if (error != null) {
+            logger.error("LinkedIn OAuth error: {}", error);
+            return Mono.just(redirectToDashboard("linkedin_error=" + error));
+        }
 
-        } catch (RuntimeException e) {
-            logger.error("Error during LinkedIn OAuth callback", e);
-            String errorMsg = e.getMessage().contains("already connected") ? "already_connected" : "callback_error";
-            return ResponseEntity.status(302)
-                .location(URI.create("http://localhost:3000/dashboard?linkedin_error=" + errorMsg))
-                .build();
-        } catch (Exception e) {
-            logger.error("Unexpected error during LinkedIn OAuth callback", e);
-            return ResponseEntity.status(302)
-                .location(URI.create("http://localhost:3000/dashboard?linkedin_error=unexpected_error"))
-                .build();
+        if (authorizationCode == null) {
+            return Mono.just(redirectToDashboard("linkedin_error=no_code"));
         }
+
+        return connectAccount(user, authorizationCode)
+                .<ResponseEntity<?>>map(account -> redirectToDashboard("linkedin_success=true"))
+                .onErrorResume(e -> Mono.just(redirectToDashboard(
+                        "linkedin_error=" + callbackErrorCode(e, "LinkedIn OAuth callback"))));
     }
 
     // New endpoint: frontend posts the code with JWT so Authorization header is present
     @PostMapping("/callback/frontend")
-    public ResponseEntity<?> handleFrontendCallback(@RequestBody Map<String, String> payload,
-                                                    Authentication authentication) {
-        try {
-            String authorizationCode = payload.get("code");
-            String state = payload.get("state");
-
-            if (authorizationCode == null || authorizationCode.isEmpty()) {
-                return ResponseEntity.badRequest().body("missing_code");
-            }
-
-            User user = authService.getCurrentUser(authentication);
+    public Mono<ResponseEntity<?>> handleFrontendCallback(@RequestBody Map<String, String> payload,
+                                                          @AuthenticationPrincipal User user) {
+        String authorizationCode = payload.get("code");
 
-            LinkedInTokenResponseDto tokenResponse = linkedInConnectorService
-                    .exchangeAuthorizationCode(authorizationCode)
-                    .block();
-
-            if (tokenResponse == null || tokenResponse.getAccessToken() == null) {
-                return ResponseEntity.badRequest().body("token_exchange_failed");
-            }
-
-            LinkedInProfileDto profile = linkedInConnectorService
-                    .getUserProfile(tokenResponse.getAccessToken())
-                    .block();
+        if (authorizationCode == null || authorizationCode.isEmpty()) {
+            return Mono.just(ResponseEntity.badRequest().body("missing_code"));
+        }
 
+        return connectAccount(user, authorizationCode)
+                .<ResponseEntity<?>>map(account -> {
+                    Map<String, Object> response = new HashMap<>();
+                    response.put("success", true);
+                    response.put("accountId", account.getId());
+                    return ResponseEntity.ok(response);
+                })
+                .onErrorResume(e -> Mono.just(ResponseEntity.badRequest().body(
+                        callbackErrorCode(e, "LinkedIn OAuth frontend callback"))));
+    }
 
-            if (profile == null) {
-                return ResponseEntity.badRequest().body("profile_fetch_failed");
-            }
+    /**
+     * Redeems the authorization code, then fetches profile and stats in parallel since both only
+     * need the access token, and stores the new account. Nothing here holds a servlet thread; only
+     * the final save moves to a worker because JPA blocks.
+     */
+    private Mono<SocialMediaAccount> connectAccount(User user, String authorizationCode) {
+        return linkedInConnectorService.exchangeAuthorizationCode(authorizationCode)
+                .filter(tokenResponse -> tokenResponse.getAccessToken() != null)
+                .switchIfEmpty(Mono.error(new CallbackFailure("token_exchange_failed")))
+                .flatMap(tokenResponse -> Mono.zip(
+                                linkedInConnectorService.getUserProfile(tokenResponse.getAccessToken()),
+                                linkedInConnectorService.getUserStats(tokenResponse.getAccessToken())
+                                        // a new account starts from zero anyway; the next refresh fills it in
+                                        .onErrorResume(e -> !(e instanceof LinkedInTokenExpiredException), e -> {
+                                            logger.warn("LinkedIn stats unavailable while connecting: {}", e.getMessage());
+                                            return Mono.empty();
+                                        })
+                                        .defaultIfEmpty(new LinkedInStatsDto()))
+                        .switchIfEmpty(Mono.error(new CallbackFailure("profile_fetch_failed")))
+                        .publishOn(Schedulers.boundedElastic())
+                        .map(profileAndStats -> saveAccount(user, tokenResponse,
+                                profileAndStats.getT1(), profileAndStats.getT2())));
+    }
 
-            SocialMediaAccount account = socialMediaService.addAccount(
-                    user,
-                    SocialMediaAccount.Platform.LINKEDIN,
-                    profile.getFullName(),
-                    profile.getEmail(),
-                    tokenResponse.getAccessToken(),
-                    tokenResponse.getRefreshToken()
-            );
+    private SocialMediaAccount saveAccount(User user, LinkedInTokenResponseDto tokenResponse,
+                                           LinkedInProfileDto profile, LinkedInStatsDto stats) {
+        String email = profile.getEmail();
+        SocialMediaAccount account = socialMediaService.addAccount(
+                user,
+                SocialMediaAccount.Platform.LINKEDIN,
+                profile.getFullName(),
+                email != null ? email : profile.getId(),
+                tokenResponse.getAccessToken(),
+                tokenResponse.getRefreshToken()
+        );
+
+        if (profile.getProfileImageUrl() != null) {
             account.setProfileImageUrl(profile.getProfileImageUrl());
+        }
+        account.setFollowersCount(stats.getFollowersCount());
+        account.setFollowingCount(stats.getEffectiveConnectionsCount());
+        account.setPostsCount(0L);
+        linkedInTokenService.storeTokens(account, tokenResponse);
+        return account;
+    }
 
-            LinkedInStatsDto stats = linkedInConnectorService
-                    .getUserStats(tokenResponse.getAccessToken())
-                    .block();
+    private String callbackErrorCode(Throwable e, String callback) {
+        if (e instanceof CallbackFailure) {
+            return e.getMessage();
+        }
+        if (e instanceof RuntimeException) {
+            logger.error("Error during {}", callback, e);
+            return e.getMessage() != null && e.getMessage().contains("already connected") ? "already_connected" : "callback_error";
+        }
+        logger.error("Unexpected error during {}", callback, e);
+        return "unexpected_error";
+    }
 
-            if (stats != null) {
-                account.setFollowersCount(stats.getFollowersCount());
-                account.setFollowingCount(stats.getEffectiveConnectionsCount());
-                account.setPostsCount(0L);
-            }
+    private ResponseEntity<?> redirectToDashboard(String query) {
+        return ResponseEntity.status(302)
+                .location(URI.create("http://localhost:3000/dashboard?" + query))
+                .build();
+    }
 
-            Map<String, Object> response = new HashMap<>();
-            response.put("success", true);
-            response.put("accountId", account.getId());
-            return ResponseEntity.ok(response);
+    private static class CallbackFailure extends RuntimeException {
 
-        } catch (RuntimeException e) {
-            logger.error("Error during LinkedIn OAuth frontend callback", e);
-            String errorMsg = e.getMessage() != null && e.getMessage().contains("already connected") ? "already_connected" : "callback_error";
-            return ResponseEntity.badRequest().body(errorMsg);
-        } catch (Exception e) {
-            logger.error("Unexpected error during LinkedIn OAuth frontend callback", e);
-            return ResponseEntity.badRequest().body("unexpected_error");
+        private static final long serialVersionUID = 1L;
+
+        CallbackFailure(String errorCode) {
+            super(errorCode);
         }
     }
 
     @PostMapping("/refresh/{accountId}")
     public ResponseEntity<?> refreshToken(@PathVariable Long accountId,
-                                        Authentication authentication) {
+                                        @AuthenticationPrincipal User user) {
         try {
-            User user = authService.getCurrentUser(authentication);
-
             socialMediaService.refreshAccountStats(accountId);
 
             return ResponseEntity.ok().body("LinkedIn account refreshed successfully");
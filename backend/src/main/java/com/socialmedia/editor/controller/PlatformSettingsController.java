@@ -3,11 +3,10 @@ package com.socialmedia.editor.controller;
 import com.socialmedia.editor.model.PlatformSettings;
 import com.socialmedia.editor.model.SocialMediaAccount;
 import com.socialmedia.editor.model.User;
-import com.socialmedia.editor.service.AuthService;
 import com.socialmedia.editor.service.PlatformSettingsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -20,18 +19,13 @@ public class PlatformSettingsController {
 
     private final PlatformSettingsService platformSettingsService;
 
-    private final AuthService authService;
-
-    public PlatformSettingsController(PlatformSettingsService platformSettingsService, AuthService authService) {
+    public PlatformSettingsController(PlatformSettingsService platformSettingsService) {
         this.platformSettingsService = platformSettingsService;
-        this.authService = authService;
     }
 
     @GetMapping
-    public ResponseEntity<List<PlatformSettings>> getPlatformSettings(Authentication authentication) {
+    public ResponseEntity<List<PlatformSettings>> getPlatformSettings(@AuthenticationPrincipal User user) {
         try {
-            User user = authService.getCurrentUser(authentication);
-
             List<PlatformSettings> settings = platformSettingsService.getUserPlatformSettings(user);
             return ResponseEntity.ok(settings);
         } catch (Exception e) {
@@ -41,10 +35,8 @@ public class PlatformSettingsController {
 
     @GetMapping("/{platform}")
     public ResponseEntity<PlatformSettings> getPlatformSetting(@PathVariable SocialMediaAccount.Platform platform,
-                                                              Authentication authentication) {
+                                                              @AuthenticationPrincipal User user) {
         try {
-            User user = authService.getCurrentUser(authentication);
-
             Optional<PlatformSettings> setting = platformSettingsService.getPlatformSetting(user, platform);
             if (setting.isPresent()) {
                 return ResponseEntity.ok(setting.get());
@@ -59,10 +51,8 @@ public class PlatformSettingsController {
     @PostMapping("/{platform}")
     public ResponseEntity<?> createOrUpdatePlatformSetting(@PathVariable SocialMediaAccount.Platform platform,
                                                           @RequestBody PlatformSettingRequest request,
-                                                          Authentication authentication) {
+                                                          @AuthenticationPrincipal User user) {
         try {
-            User user = authService.getCurrentUser(authentication);
-
             PlatformSettings setting = platformSettingsService.createOrUpdatePlatformSetting(
                     user, platform, request.getDefaultPrompt());
             return ResponseEntity.ok(setting);
@@ -74,10 +64,8 @@ public class PlatformSettingsController {
     @PutMapping("/{platform}")
     public ResponseEntity<?> updateDefaultPrompt(@PathVariable SocialMediaAccount.Platform platform,
                                                @RequestBody PlatformSettingRequest request,
-                                               Authentication authentication) {
+                                               @AuthenticationPrincipal User user) {
         try {
-            User user = authService.getCurrentUser(authentication);
-
             PlatformSettings setting = platformSettingsService.updateDefaultPrompt(
                     user, platform, request.getDefaultPrompt());
             return ResponseEntity.ok(setting);
@@ -90,10 +78,8 @@ public class PlatformSettingsController {
 
     @DeleteMapping("/{platform}")
     public ResponseEntity<String> deletePlatformSetting(@PathVariable SocialMediaAccount.Platform platform,
-                                                       Authentication authentication) {
+                                                       @AuthenticationPrincipal User user) {
         try {
-            User user = authService.getCurrentUser(authentication);
-
             platformSettingsService.deletePlatformSetting(user, platform);
             return ResponseEntity.ok("Platform setting deleted successfully");
         } catch (Exception e) {
@@ -1,12 +1,13 @@
 package com.socialmedia.editor.controller;
 
+import com.socialmedia.editor.dto.CursorPage;
+import com.socialmedia.editor.dto.PostSummaryDto;
 import com.socialmedia.editor.model.Post;
 import com.socialmedia.editor.model.User;
-import com.socialmedia.editor.service.AuthService;
 import com.socialmedia.editor.service.PostService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDateTime;
@@ -14,59 +15,56 @@ import java.util.List;
 
 @RestController
 @RequestMapping("/api/posts")
-@CrossOrigin(origins = "http://localhost:3000")
+@CrossOrigin(origins = "http://localhost:3000", exposedHeaders = PostController.NEXT_CURSOR_HEADER)
 public class PostController {
 
-    private final PostService postService;
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
 
-    private final AuthService authService;
+    private final PostService postService;
 
-    public PostController(PostService postService, AuthService authService) {
+    public PostController(PostService postService) {
         this.postService = postService;
-        this.authService = authService;
     }
 
     @GetMapping
-    public ResponseEntity<List<Post>> getPosts(Authentication authentication) {
+    public ResponseEntity<List<PostSummaryDto>> getPosts(@RequestParam(required = false) String cursor,
+                                                         @RequestParam(defaultValue = "" + PostService.DEFAULT_PAGE_SIZE) int size,
+                                                         @AuthenticationPrincipal User user) {
         try {
-            User user = authService.getCurrentUser(authentication);
-
-            List<Post> posts = postService.getPostsByUser(user);
-            return ResponseEntity.ok(posts);
+            CursorPage<PostSummaryDto> page = postService.getPostsByUser(user, cursor, size);
+            return pageResponse(page);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
     @GetMapping("/drafts")
-    public ResponseEntity<List<Post>> getDraftPosts(Authentication authentication) {
+    public ResponseEntity<List<PostSummaryDto>> getDraftPosts(@RequestParam(required = false) String cursor,
+                                                              @RequestParam(defaultValue = "" + PostService.DEFAULT_PAGE_SIZE) int size,
+                                                              @AuthenticationPrincipal User user) {
         try {
-            User user = authService.getCurrentUser(authentication);
-
-            List<Post> posts = postService.getDraftPostsByUser(user);
-            return ResponseEntity.ok(posts);
+            CursorPage<PostSummaryDto> page = postService.getDraftPostsByUser(user, cursor, size);
+            return pageResponse(page);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
     @GetMapping("/published")
-    public ResponseEntity<List<Post>> getPublishedPosts(Authentication authentication) {
+    public ResponseEntity<List<PostSummaryDto>> getPublishedPosts(@RequestParam(required = false) String cursor,
+                                                                  @RequestParam(defaultValue = "" + PostService.DEFAULT_PAGE_SIZE) int size,
+                                                                  @AuthenticationPrincipal User user) {
         try {
-            User user = authService.getCurrentUser(authentication);
-
-            List<Post> posts = postService.getPublishedPostsByUser(user);
-            return ResponseEntity.ok(posts);
+            CursorPage<PostSummaryDto> page = postService.getPublishedPostsByUser(user, cursor, size);
+            return pageResponse(page);
         } catch (Exception e) {
             return ResponseEntity.badRequest().build();
         }
     }
 
     @GetMapping("/{postId}")
-    public ResponseEntity<Post> getPost(@PathVariable Long postId, Authentication authentication) {
+    public ResponseEntity<Post> getPost(@PathVariable Long postId, @AuthenticationPrincipal User user) {
         try {
-            User user = authService.getCurrentUser(authentication);
-
             Post post = postService.getPostById(postId, user);
             return ResponseEntity.ok(post);
         } catch (RuntimeException e) {
@@ -78,10 +76,8 @@ public class PostController {
 
     @PostMapping
     public ResponseEntity<?> createPost(@RequestBody CreatePostRequest request,
-                                      Authentication authentication) {
+                                      @AuthenticationPrincipal User user) {
         try {
-            User user = authService.getCurrentUser(authentication);
-
             Post post = postService.createPost(user, request.getContent(), request.getTitle(),
                     request.getReferences());
             return ResponseEntity.ok(post);
@@ -93,10 +89,8 @@ public class PostController {
     @PutMapping("/{postId}")
     public ResponseEntity<?> updatePost(@PathVariable Long postId,
                                       @RequestBody UpdatePostRequest request,
-                                      Authentication authentication) {
+                                      @AuthenticationPrincipal User user) {
         try {
-            User user = authService.getCurrentUser(authentication);
-
             Post post = postService.updatePost(postId, request.getContent(), request.getTitle(),
                     request.getReferences(), user);
             return ResponseEntity.ok(post);
@@ -110,10 +104,8 @@ public class PostController {
     @PostMapping("/{postId}/schedule")
     public ResponseEntity<?> schedulePost(@PathVariable Long postId,
                                         @RequestBody SchedulePostRequest request,
-                                        Authentication authentication) {
+                                        @AuthenticationPrincipal User user) {
         try {
-            User user = authService.getCurrentUser(authentication);
-
             Post post = postService.schedulePost(postId, request.getScheduledTime(), user);
             return ResponseEntity.ok(post);
         } catch (RuntimeException e) {
@@ -125,10 +117,8 @@ public class PostController {
 
     @PostMapping("/{postId}/publish")
     public ResponseEntity<?> publishPost(@PathVariable Long postId,
-                                       Authentication authentication) {
+                                       @AuthenticationPrincipal User user) {
         try {
-            User user = authService.getCurrentUser(authentication);
-
             Post post = postService.publishPost(postId, user);
             return ResponseEntity.ok(post);
         } catch (RuntimeException e) {
@@ -140,10 +130,8 @@ public class PostController {
 
     @DeleteMapping("/{postId}")
     public ResponseEntity<String> deletePost(@PathVariable Long postId,
-                                           Authentication authentication) {
+                                           @AuthenticationPrincipal User user) {
         try {
-            User user = authService.getCurrentUser(authentication);
-
             postService.deletePost(postId, user);
             return ResponseEntity.ok("Post deleted successfully");
         } catch (RuntimeException e) {
@@ -153,6 +141,15 @@ public class PostController {
         }
     }
 
+    // The body stays a plain array so existing clients keep working; the cursor travels in a header
+    private static <T> ResponseEntity<List<T>> pageResponse(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
     public static class CreatePostRequest {
         private String content;
         private String title;
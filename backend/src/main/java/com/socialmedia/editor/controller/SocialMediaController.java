@@ -2,11 +2,10 @@ package com.socialmedia.editor.controller;
 
 import com.socialmedia.editor.model.SocialMediaAccount;
 import com.socialmedia.editor.model.User;
-import com.socialmedia.editor.service.AuthService;
 import com.socialmedia.editor.service.LinkedInConnectorService;
 import com.socialmedia.editor.service.SocialMediaService;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
@@ -20,21 +19,16 @@ public class SocialMediaController {
 
     private final SocialMediaService socialMediaService;
 
-    private final AuthService authService;
-
     private final LinkedInConnectorService linkedInConnectorService;
 
-    public SocialMediaController(SocialMediaService socialMediaService, AuthService authService, LinkedInConnectorService linkedInConnectorService) {
+    public SocialMediaController(SocialMediaService socialMediaService, LinkedInConnectorService linkedInConnectorService) {
         this.socialMediaService = socialMediaService;
-        this.authService = authService;
         this.linkedInConnectorService = linkedInConnectorService;
     }
 
     @GetMapping("/accounts")
-    public ResponseEntity<List<SocialMediaAccount>> getAccounts(Authentication authentication) {
+    public ResponseEntity<List<SocialMediaAccount>> getAccounts(@AuthenticationPrincipal User user) {
         try {
-            User user = authService.getCurrentUser(authentication);
-
             List<SocialMediaAccount> accounts = socialMediaService.getActiveAccountsByUser(user);
             return ResponseEntity.ok(accounts);
         } catch (Exception e) {
@@ -44,7 +38,7 @@ public class SocialMediaController {
 
     @PostMapping("/connect")
     public ResponseEntity<?> connectAccount(@RequestBody ConnectAccountRequest request,
-                                          Authentication authentication) {
+                                          @AuthenticationPrincipal User user) {
         try {
             if (request.getPlatform() == SocialMediaAccount.Platform.LINKEDIN) {
                 String authorizationUrl = linkedInConnectorService.getAuthorizationUrl();
@@ -54,8 +48,6 @@ public class SocialMediaController {
                 return ResponseEntity.ok(response);
             }
 
-            User user = authService.getCurrentUser(authentication);
-
             SocialMediaAccount account = socialMediaService.addAccount(
                     user,
                     request.getPlatform(),
@@ -75,9 +67,8 @@ public class SocialMediaController {
 
     @DeleteMapping("/accounts/{accountId}")
     public ResponseEntity<String> disconnectAccount(@PathVariable Long accountId,
-                                                  Authentication authentication) {
+                                                  @AuthenticationPrincipal User user) {
         try {
-            User user = authService.getCurrentUser(authentication);
             socialMediaService.disconnectAccount(accountId, user);
             return ResponseEntity.ok("Account disconnected successfully");
         } catch (RuntimeException e) {
@@ -13,6 +13,8 @@ public class AIContentRequest {
     private String platform = "general";
     private String contentType = "post";
     private String existingContent;
+    // "regenerate": skip cached completions and ask the model again
+    private boolean bypassCache;
 
     public String getPrompt() {
         return prompt;
@@ -53,4 +55,12 @@ public class AIContentRequest {
     public void setExistingContent(String existingContent) {
         this.existingContent = existingContent;
     }
-}
\ No newline at end of file
+
+    public boolean isBypassCache() {
+        return bypassCache;
+    }
+
+    public void setBypassCache(boolean bypassCache) {
+        this.bypassCache = bypassCache;
+    }
+}
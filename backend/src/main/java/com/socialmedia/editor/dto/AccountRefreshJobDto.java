@@ -0,0 +1,132 @@
+package com.socialmedia.editor.dto;
+
+import com.socialmedia.editor.model.SocialMediaAccount;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class AccountRefreshJobDto {
+    private String jobId;
+    private JobStatus status;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private List<AccountResultDto> accounts;
+
+    public enum JobStatus {
+        RUNNING, COMPLETED
+    }
+
+    public enum AccountStatus {
+        PENDING, RUNNING, SUCCEEDED, FAILED
+    }
+
+    public AccountRefreshJobDto() {}
+
+    public AccountRefreshJobDto(String jobId, JobStatus status, LocalDateTime startedAt,
+                                LocalDateTime completedAt, List<AccountResultDto> accounts) {
+        this.jobId = jobId;
+        this.status = status;
+        this.startedAt = startedAt;
+        this.completedAt = completedAt;
+        this.accounts = accounts;
+    }
+
+    public String getJobId() {
+        return jobId;
+    }
+
+    public void setJobId(String jobId) {
+        this.jobId = jobId;
+    }
+
+    public JobStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(JobStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public List<AccountResultDto> getAccounts() {
+        return accounts;
+    }
+
+    public void setAccounts(List<AccountResultDto> accounts) {
+        this.accounts = accounts;
+    }
+
+    public static class AccountResultDto {
+        private Long accountId;
+        private SocialMediaAccount.Platform platform;
+        private AccountStatus status;
+        private Long durationMillis;
+        private String error;
+
+        public AccountResultDto() {}
+
+        public AccountResultDto(Long accountId, SocialMediaAccount.Platform platform, AccountStatus status,
+                                Long durationMillis, String error) {
+            this.accountId = accountId;
+            this.platform = platform;
+            this.status = status;
+            this.durationMillis = durationMillis;
+            this.error = error;
+        }
+
+        public Long getAccountId() {
+            return accountId;
+        }
+
+        public void setAccountId(Long accountId) {
+            this.accountId = accountId;
+        }
+
+        public SocialMediaAccount.Platform getPlatform() {
+            return platform;
+        }
+
+        public void setPlatform(SocialMediaAccount.Platform platform) {
+            this.platform = platform;
+        }
+
+        public AccountStatus getStatus() {
+            return status;
+        }
+
+        public void setStatus(AccountStatus status) {
+            this.status = status;
+        }
+
+        public Long getDurationMillis() {
+            return durationMillis;
+        }
+
+        public void setDurationMillis(Long durationMillis) {
+            this.durationMillis = durationMillis;
+        }
+
+        public String getError() {
+            return error;
+        }
+
+        public void setError(String error) {
+            this.error = error;
+        }
+    }
+}
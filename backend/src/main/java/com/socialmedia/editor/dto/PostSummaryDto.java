@@ -0,0 +1,136 @@
+package com.socialmedia.editor.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.socialmedia.editor.model.Post;
+
+import java.time.LocalDateTime;
+
+/**
+ * List-view projection of a post, populated directly by a JPQL constructor query so that
+ * full content, references and the platforms collection are never loaded for list screens.
+ */
+public class PostSummaryDto {
+
+    public static final int CONTENT_PREVIEW_LENGTH = 200;
+
+    private Long id;
+    private String title;
+    private String contentPreview;
+    private Post.PostStatus status;
+    private LocalDateTime scheduledTime;
+    private LocalDateTime publishedAt;
+    private LocalDateTime createdAt;
+    private Long engagementCount;
+    private Long likesCount;
+    private Long sharesCount;
+    private Long commentsCount;
+
+    public PostSummaryDto() {}
+
+    public PostSummaryDto(Long id, String title, String contentPreview, Post.PostStatus status,
+                          LocalDateTime scheduledTime, LocalDateTime publishedAt, LocalDateTime createdAt,
+                          Long engagementCount, Long likesCount, Long sharesCount, Long commentsCount) {
+        this.id = id;
+        this.title = title;
+        this.contentPreview = contentPreview;
+        this.status = status;
+        this.scheduledTime = scheduledTime;
+        this.publishedAt = publishedAt;
+        this.createdAt = createdAt;
+        this.engagementCount = engagementCount;
+        this.likesCount = likesCount;
+        this.sharesCount = sharesCount;
+        this.commentsCount = commentsCount;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    // serialized as "content" so list clients written against the full post keep rendering it
+    @JsonProperty("content")
+    public String getContentPreview() {
+        return contentPreview;
+    }
+
+    @JsonProperty("content")
+    public void setContentPreview(String contentPreview) {
+        this.contentPreview = contentPreview;
+    }
+
+    public Post.PostStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(Post.PostStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getScheduledTime() {
+        return scheduledTime;
+    }
+
+    public void setScheduledTime(LocalDateTime scheduledTime) {
+        this.scheduledTime = scheduledTime;
+    }
+
+    public LocalDateTime getPublishedAt() {
+        return publishedAt;
+    }
+
+    public void setPublishedAt(LocalDateTime publishedAt) {
+        this.publishedAt = publishedAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Long getEngagementCount() {
+        return engagementCount;
+    }
+
+    public void setEngagementCount(Long engagementCount) {
+        this.engagementCount = engagementCount;
+    }
+
+    public Long getLikesCount() {
+        return likesCount;
+    }
+
+    public void setLikesCount(Long likesCount) {
+        this.likesCount = likesCount;
+    }
+
+    public Long getSharesCount() {
+        return sharesCount;
+    }
+
+    public void setSharesCount(Long sharesCount) {
+        this.sharesCount = sharesCount;
+    }
+
+    public Long getCommentsCount() {
+        return commentsCount;
+    }
+
+    public void setCommentsCount(Long commentsCount) {
+        this.commentsCount = commentsCount;
+    }
+}
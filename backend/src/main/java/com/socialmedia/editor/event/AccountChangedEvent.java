@@ -0,0 +1,25 @@
+package com.socialmedia.editor.event;
+
+/**
+ * Published whenever a social media account is connected, disconnected or has its stats
+ * refreshed.
+ */
+public class AccountChangedEvent {
+
+    private final Long userId;
+
+    private final Long accountId;
+
+    public AccountChangedEvent(Long userId, Long accountId) {
+        this.userId = userId;
+        this.accountId = accountId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getAccountId() {
+        return accountId;
+    }
+}
@@ -0,0 +1,25 @@
+package com.socialmedia.editor.event;
+
+/**
+ * Published whenever a post is created, edited, deleted or changes status or engagement, so that
+ * per-user aggregates (such as the cached dashboard) can be dropped.
+ */
+public class PostChangedEvent {
+
+    private final Long userId;
+
+    private final Long postId;
+
+    public PostChangedEvent(Long userId, Long postId) {
+        this.userId = userId;
+        this.postId = postId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+}
@@ -0,0 +1,27 @@
+package com.socialmedia.editor.event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a post is scheduled or rescheduled so the publishing engine can arm its timer
+ * without waiting for the next reload.
+ */
+public class PostScheduledEvent {
+
+    private final Long postId;
+
+    private final LocalDateTime scheduledTime;
+
+    public PostScheduledEvent(Long postId, LocalDateTime scheduledTime) {
+        this.postId = postId;
+        this.scheduledTime = scheduledTime;
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public LocalDateTime getScheduledTime() {
+        return scheduledTime;
+    }
+}
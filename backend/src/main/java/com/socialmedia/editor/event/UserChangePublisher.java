@@ -0,0 +1,31 @@
+package com.socialmedia.editor.event;
+
+import com.socialmedia.editor.model.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that publishes a {@link UserChangedEvent} for every insert, update or
+ * delete of a user row, so copies of the user are dropped whichever code path changed it.
+ * Listeners that react to the event should run after commit, because these callbacks fire
+ * when the change is flushed, not when it becomes visible to other transactions.
+ */
+@Component
+public class UserChangePublisher {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public UserChangePublisher(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getUsername()));
+    }
+}
@@ -0,0 +1,18 @@
+package com.socialmedia.editor.event;
+
+/**
+ * Published by {@link UserChangePublisher} whenever a user row is created, updated or removed
+ * so that anything holding a copy of the user (such as the principal cache) can drop it.
+ */
+public class UserChangedEvent {
+
+    private final String username;
+
+    public UserChangedEvent(String username) {
+        this.username = username;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+}
@@ -0,0 +1,96 @@
+package com.socialmedia.editor.filter;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Request wrapper that reads the body once so a filter can inspect it and the
+ * controller can still deserialize it. At most {@code maxBytes} are buffered; a larger body
+ * is refused with {@link BodyTooLargeException} before or while it is read.
+ */
+public class CachedBodyHttpServletRequest extends HttpServletRequestWrapper {
+
+    private final byte[] body;
+
+    public CachedBodyHttpServletRequest(HttpServletRequest request, int maxBytes) throws IOException {
+        super(request);
+        if (request.getContentLengthLong() > maxBytes) {
+            throw new BodyTooLargeException(maxBytes);
+        }
+        // Content-Length may be absent or wrong, so the read itself is bounded too
+        InputStream input = request.getInputStream();
+        byte[] read = input.readNBytes(maxBytes + 1);
+        if (read.length > maxBytes) {
+            throw new BodyTooLargeException(maxBytes);
+        }
+        this.body = read;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        ByteArrayInputStream input = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return input.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener readListener) {
+                // the body is already in memory, so it is all available right away
+                try {
+                    if (!isFinished()) {
+                        readListener.onDataAvailable();
+                    }
+                    readListener.onAllDataRead();
+                } catch (IOException e) {
+                    readListener.onError(e);
+                }
+            }
+
+            @Override
+            public int read() {
+                return input.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return input.read(b, off, len);
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        String encoding = getCharacterEncoding();
+        return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+    }
+
+    public static class BodyTooLargeException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        public BodyTooLargeException(int maxBytes) {
+            super("Request body exceeds " + maxBytes + " bytes");
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.socialmedia.editor.filter;
 
 import com.socialmedia.editor.model.User;
-import com.socialmedia.editor.repository.UserRepository;
 import com.socialmedia.editor.service.AuthService;
+import com.socialmedia.editor.service.TokenRevocationService;
+import com.socialmedia.editor.service.UserPrincipalCache;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -24,13 +26,17 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
 
     private final AuthService authService;
 
-    private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
+
+    private final TokenRevocationService tokenRevocationService;
 
     private final HandlerExceptionResolver handlerExceptionResolver;
 
-    public JWTAuthenticationFilter(AuthService authService , UserRepository userRepository, HandlerExceptionResolver handlerExceptionResolver) {
+    public JWTAuthenticationFilter(AuthService authService, UserPrincipalCache userPrincipalCache,
+                                   TokenRevocationService tokenRevocationService, HandlerExceptionResolver handlerExceptionResolver) {
         this.authService = authService;
-        this.userRepository = userRepository;
+        this.userPrincipalCache = userPrincipalCache;
+        this.tokenRevocationService = tokenRevocationService;
         this.handlerExceptionResolver = handlerExceptionResolver;
     }
 
@@ -45,23 +51,22 @@ public class JWTAuthenticationFilter extends OncePerRequestFilter {
 
         try {
             final String jwt = authHeader.substring(7);
-            final String username = authService.getUsernameFromJwtToken(jwt);
+            final Claims claims = authService.verifyJwtToken(jwt);
+            final String username = claims.getSubject();
 
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
-            if (username != null && authentication == null) {
-                User user = this.userRepository.findByUsername(username).orElseThrow();
+            if (username != null && authentication == null && !tokenRevocationService.isRevoked(claims)) {
+                User user = this.userPrincipalCache.getUser(username).orElseThrow();
 
-                if (authService.validateJwtToken(jwt)) {
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            user,
-                            null,
-                            emptyList()
-                    );
+                UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                        user,
+                        null,
+                        emptyList()
+                );
 
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
-                }
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
 
             filterChain.doFilter(request, response);
@@ -0,0 +1,93 @@
+package com.socialmedia.editor.filter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.socialmedia.editor.service.LoginRateLimiter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles {@code POST /api/auth/login} per client IP and per username before the
+ * request reaches AuthController, so rejected attempts cost no query and no BCrypt.
+ */
+@Component
+public class LoginRateLimitFilter extends OncePerRequestFilter {
+
+    private static final String LOGIN_PATH = "/api/auth/login";
+
+    // a login body is a username and a password; anything much larger is not worth buffering
+    private static final int MAX_BODY_BYTES = 4 * 1024;
+
+    private final LoginRateLimiter loginRateLimiter;
+
+    private final ObjectMapper objectMapper;
+
+    public LoginRateLimitFilter(LoginRateLimiter loginRateLimiter, ObjectMapper objectMapper) {
+        this.loginRateLimiter = loginRateLimiter;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !HttpMethod.POST.matches(request.getMethod()) || !LOGIN_PATH.equals(path);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        long wait = loginRateLimiter.checkClientIp(request.getRemoteAddr());
+        if (wait > 0) {
+            reject(response, wait);
+            return;
+        }
+
+        CachedBodyHttpServletRequest cachedRequest;
+        try {
+            cachedRequest = new CachedBodyHttpServletRequest(request, MAX_BODY_BYTES);
+        } catch (CachedBodyHttpServletRequest.BodyTooLargeException e) {
+            response.setStatus(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            response.setContentType("text/plain");
+            response.getWriter().write("Login request is too large");
+            return;
+        }
+        String username = extractUsername(cachedRequest.getBody());
+        if (username != null) {
+            wait = loginRateLimiter.checkUsername(username);
+            if (wait > 0) {
+                reject(response, wait);
+                return;
+            }
+        }
+
+        filterChain.doFilter(cachedRequest, response);
+    }
+
+    private String extractUsername(byte[] body) {
+        try {
+            JsonNode root = objectMapper.readTree(body);
+            JsonNode username = root != null ? root.get("username") : null;
+            return username != null && username.isTextual() ? username.asText() : null;
+        } catch (IOException e) {
+            // Malformed body; AuthController rejects it
+            return null;
+        }
+    }
+
+    private void reject(HttpServletResponse response, long waitNanos) throws IOException {
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType("text/plain");
+        response.getWriter().write("Too many login attempts, please try again later");
+    }
+}
@@ -9,7 +9,10 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_posts_user_created_id", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_posts_user_status_created_id", columnList = "user_id, status, created_at, id")
+})
 public class Post {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -65,7 +68,8 @@ public class Post {
     private Long commentsCount = 0L;
 
     public enum PostStatus {
-        DRAFT, SCHEDULED, PUBLISHED, FAILED
+        // PUBLISHING marks a scheduled post claimed by a publishing node
+        DRAFT, SCHEDULED, PUBLISHING, PUBLISHED, FAILED
     }
 
     @PrePersist
@@ -45,7 +45,8 @@ public class PostPlatform {
     private LocalDateTime publishedAt;
 
     public enum PublishStatus {
-        PENDING, PUBLISHED, FAILED, CANCELLED
+        // UNKNOWN: the platform did not answer in time, so the post may or may not be live there
+        PENDING, PUBLISHED, FAILED, CANCELLED, UNKNOWN
     }
 
     @PrePersist
@@ -0,0 +1,53 @@
+package com.socialmedia.editor.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ownership of one shard of the background stats sweep. A node owns shard {@code shardId} (the
+ * accounts whose {@code id mod shardCount} equals it) while {@code expiresAt} lies in the future.
+ */
+@Entity
+@Table(name = "refresh_leases")
+public class RefreshLease {
+    @Id
+    @Column(name = "shard_id")
+    private Integer shardId;
+
+    @Column(length = 128)
+    private String owner;
+
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    public RefreshLease() {}
+
+    public RefreshLease(Integer shardId) {
+        this.shardId = shardId;
+    }
+
+    public Integer getShardId() {
+        return shardId;
+    }
+
+    public void setShardId(Integer shardId) {
+        this.shardId = shardId;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
@@ -1,12 +1,16 @@
 package com.socialmedia.editor.model;
 
+import com.socialmedia.editor.event.UserChangePublisher;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
+import java.time.LocalDateTime;
+
 @Entity
 @Table(name = "users")
+@EntityListeners(UserChangePublisher.class)
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -26,6 +30,10 @@ public class User {
     @Size(min = 6, max = 120)
     private String password;
 
+    // Tokens issued before this instant are rejected ("revoke all sessions")
+    @Column(name = "tokens_valid_after")
+    private LocalDateTime tokensValidAfter;
+
     public User() {}
 
     public User(String username, String email, String password) {
@@ -65,4 +73,12 @@ public class User {
     public void setPassword(String password) {
         this.password = password;
     }
+
+    public LocalDateTime getTokensValidAfter() {
+        return tokensValidAfter;
+    }
+
+    public void setTokensValidAfter(LocalDateTime tokensValidAfter) {
+        this.tokensValidAfter = tokensValidAfter;
+    }
 }
\ No newline at end of file
@@ -1,8 +1,12 @@
 package com.socialmedia.editor.repository;
 
+import com.socialmedia.editor.dto.DashboardStatsDto;
+import com.socialmedia.editor.dto.PostSummaryDto;
 import com.socialmedia.editor.model.Post;
 import com.socialmedia.editor.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
@@ -13,38 +17,56 @@ import java.util.Optional;
 @Repository
 public interface PostRepository extends JpaRepository<Post, Long> {
 
-    List<Post> findByUserOrderByCreatedAtDesc(User user);
+    String SUMMARY_SELECT = "SELECT new com.socialmedia.editor.dto.PostSummaryDto(" +
+            "p.id, p.title, SUBSTRING(p.content, 1, " + PostSummaryDto.CONTENT_PREVIEW_LENGTH + "), p.status, " +
+            "p.scheduledTime, p.publishedAt, p.createdAt, " +
+            "p.engagementCount, p.likesCount, p.sharesCount, p.commentsCount) FROM Post p ";
 
-    List<Post> findByUserAndStatus(User user, Post.PostStatus status);
+    @Query(SUMMARY_SELECT + "WHERE p.user = :user ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummaryDto> findFirstPageByUser(User user, Pageable pageable);
 
-    Optional<Post> findByIdAndUser(Long id, User user);
-
-    @Query("SELECT COUNT(p) FROM Post p WHERE p.user = :user")
-    Long getTotalPostCountByUser(User user);
-
-    @Query("SELECT COUNT(p) FROM Post p WHERE p.user = :user AND p.status = :status")
-    Long getPostCountByUserAndStatus(User user, Post.PostStatus status);
+    @Query(SUMMARY_SELECT + "WHERE p.user = :user " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummaryDto> findPageByUserAfter(User user, LocalDateTime createdAt, Long id, Pageable pageable);
 
-    @Query("SELECT COUNT(p) FROM Post p WHERE p.user = :user AND p.status = 'DRAFT'")
-    Long getDraftPostCountByUser(User user);
+    @Query(SUMMARY_SELECT + "WHERE p.user = :user AND p.status = :status ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummaryDto> findFirstPageByUserAndStatus(User user, Post.PostStatus status, Pageable pageable);
 
-    @Query("SELECT COUNT(p) FROM Post p WHERE p.user = :user AND p.status = 'PUBLISHED'")
-    Long getPublishedPostCountByUser(User user);
+    @Query(SUMMARY_SELECT + "WHERE p.user = :user AND p.status = :status " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummaryDto> findPageByUserAndStatusAfter(User user, Post.PostStatus status, LocalDateTime createdAt,
+                                                      Long id, Pageable pageable);
 
-    @Query("SELECT COUNT(p) FROM Post p WHERE p.user = :user AND p.status = 'SCHEDULED'")
-    Long getScheduledPostCountByUser(User user);
+    Optional<Post> findByIdAndUser(Long id, User user);
 
-    @Query("SELECT SUM(p.engagementCount) FROM Post p WHERE p.user = :user AND p.status = 'PUBLISHED'")
-    Long getTotalEngagementByUser(User user);
+    @Query("SELECT new com.socialmedia.editor.dto.DashboardStatsDto$PostStatisticsDto(" +
+            "COUNT(p), " +
+            "COALESCE(SUM(CASE WHEN p.status = 'DRAFT' THEN 1L ELSE 0L END), 0L), " +
+            "COALESCE(SUM(CASE WHEN p.status = 'PUBLISHED' THEN 1L ELSE 0L END), 0L), " +
+            "COALESCE(SUM(CASE WHEN p.status = 'SCHEDULED' THEN 1L ELSE 0L END), 0L), " +
+            "COALESCE(SUM(CASE WHEN p.status = 'PUBLISHED' THEN p.engagementCount ELSE 0L END), 0L), " +
+            "COALESCE(SUM(CASE WHEN p.status = 'PUBLISHED' THEN p.likesCount ELSE 0L END), 0L), " +
+            "COALESCE(SUM(CASE WHEN p.status = 'PUBLISHED' THEN p.sharesCount ELSE 0L END), 0L), " +
+            "COALESCE(SUM(CASE WHEN p.status = 'PUBLISHED' THEN p.commentsCount ELSE 0L END), 0L)) " +
+            "FROM Post p WHERE p.user = :user")
+    DashboardStatsDto.PostStatisticsDto getPostStatisticsByUser(User user);
 
-    @Query("SELECT SUM(p.likesCount) FROM Post p WHERE p.user = :user AND p.status = 'PUBLISHED'")
-    Long getTotalLikesByUser(User user);
+    List<Post> findByStatusAndScheduledTimeBefore(Post.PostStatus status, LocalDateTime dateTime);
 
-    @Query("SELECT SUM(p.sharesCount) FROM Post p WHERE p.user = :user AND p.status = 'PUBLISHED'")
-    Long getTotalSharesByUser(User user);
+    // SKIP LOCKED lets several nodes claim disjoint batches without waiting on each other
+    @Query(value = "SELECT * FROM posts WHERE status = 'SCHEDULED' AND scheduled_time <= :now " +
+            "ORDER BY scheduled_time LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Post> lockDueScheduledPosts(LocalDateTime now, int limit);
 
-    @Query("SELECT SUM(p.commentsCount) FROM Post p WHERE p.user = :user AND p.status = 'PUBLISHED'")
-    Long getTotalCommentsByUser(User user);
+    @Modifying
+    @Query("UPDATE Post p SET p.status = :scheduled WHERE p.status = :publishing AND p.updatedAt < :cutoff")
+    int releaseStaleClaims(Post.PostStatus publishing, Post.PostStatus scheduled, LocalDateTime cutoff);
 
-    List<Post> findByStatusAndScheduledTimeBefore(Post.PostStatus status, LocalDateTime dateTime);
+    // conditional, so a post whose claim was released, or that was edited meanwhile, is left alone
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Post p SET p.status = :published, p.publishedAt = :publishedAt, p.updatedAt = :publishedAt " +
+            "WHERE p.id = :id AND p.status = :publishing")
+    int markPublishedIfClaimed(Long id, Post.PostStatus publishing, Post.PostStatus published, LocalDateTime publishedAt);
 }
\ No newline at end of file
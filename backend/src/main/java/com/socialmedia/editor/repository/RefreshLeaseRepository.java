@@ -0,0 +1,46 @@
+package com.socialmedia.editor.repository;
+
+import com.socialmedia.editor.model.RefreshLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RefreshLeaseRepository extends JpaRepository<RefreshLease, Integer> {
+
+    @Query("SELECT l.shardId FROM RefreshLease l WHERE l.owner = :owner AND l.expiresAt > :now ORDER BY l.shardId")
+    List<Integer> findOwnedShards(String owner, LocalDateTime now);
+
+    @Query("SELECT l.shardId FROM RefreshLease l WHERE l.owner IS NULL OR l.expiresAt <= :now")
+    List<Integer> findAvailableShards(LocalDateTime now);
+
+    @Query("SELECT COUNT(DISTINCT l.owner) FROM RefreshLease l WHERE l.owner IS NOT NULL AND l.expiresAt > :now")
+    long countLiveOwners(LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RefreshLease l SET l.owner = :owner, l.expiresAt = :expiresAt " +
+            "WHERE l.shardId = :shardId AND (l.owner IS NULL OR l.owner = :owner OR l.expiresAt <= :now)")
+    int tryAcquire(Integer shardId, String owner, LocalDateTime now, LocalDateTime expiresAt);
+
+    @Query("SELECT l.owner FROM RefreshLease l WHERE l.owner IS NOT NULL AND l.expiresAt > :now " +
+            "GROUP BY l.owner HAVING COUNT(l) > 1 ORDER BY COUNT(l) DESC")
+    List<String> findOwnersWithSurplus(LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE RefreshLease l SET l.owner = :owner, l.expiresAt = :expiresAt " +
+            "WHERE l.shardId = :shardId AND l.owner = :previousOwner")
+    int takeOver(Integer shardId, String previousOwner, String owner, LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE RefreshLease l SET l.expiresAt = :expiresAt WHERE l.owner = :owner AND l.shardId IN :shardIds")
+    int renew(String owner, Collection<Integer> shardIds, LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("UPDATE RefreshLease l SET l.owner = NULL, l.expiresAt = NULL WHERE l.owner = :owner AND l.shardId IN :shardIds")
+    int release(String owner, Collection<Integer> shardIds);
+}
@@ -0,0 +1,24 @@
+package com.socialmedia.editor.repository;
+
+import com.socialmedia.editor.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime dateTime);
+
+    List<RevokedToken> findByRevokedAtAfter(LocalDateTime dateTime);
+
+    boolean existsByJti(String jti);
+
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt < :dateTime")
+    int deleteExpired(LocalDateTime dateTime);
+}
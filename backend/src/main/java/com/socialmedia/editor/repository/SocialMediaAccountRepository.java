@@ -2,10 +2,13 @@ package com.socialmedia.editor.repository;
 
 import com.socialmedia.editor.model.SocialMediaAccount;
 import com.socialmedia.editor.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -15,6 +18,22 @@ public interface SocialMediaAccountRepository extends JpaRepository<SocialMediaA
 
     List<SocialMediaAccount> findByUser(User user);
 
+    List<SocialMediaAccount> findByUserIdAndIsActiveTrue(Long userId);
+
+    @Query("SELECT s FROM SocialMediaAccount s WHERE s.platform = :platform AND s.isActive = true " +
+            "AND MOD(s.id, :shardCount) IN :shards " +
+            "AND s.refreshToken IS NOT NULL AND s.accessTokenExpiresAt < :expiringBefore " +
+            "AND (s.refreshTokenExpiresAt IS NULL OR s.refreshTokenExpiresAt > :now) ORDER BY s.accessTokenExpiresAt ASC")
+    List<SocialMediaAccount> findRefreshableTokensExpiringInShards(SocialMediaAccount.Platform platform,
+                                                                   int shardCount, Collection<Integer> shards,
+                                                                   LocalDateTime expiringBefore, LocalDateTime now,
+                                                                   Pageable pageable);
+
+    @Query("SELECT s FROM SocialMediaAccount s WHERE s.isActive = true AND MOD(s.id, :shardCount) IN :shards " +
+            "AND (s.updatedAt IS NULL OR s.updatedAt < :staleBefore) ORDER BY s.updatedAt ASC, s.id ASC")
+    List<SocialMediaAccount> findStaleInShards(int shardCount, Collection<Integer> shards,
+                                               LocalDateTime staleBefore, Pageable pageable);
+
     @Query("SELECT SUM(s.followersCount) FROM SocialMediaAccount s WHERE s.user = :user AND s.isActive = true")
     Long getTotalFollowersByUser(User user);
 
@@ -1,15 +1,20 @@
 package com.socialmedia.editor.service;
 
+import com.socialmedia.editor.ai.AsyncChatModel;
+import com.socialmedia.editor.ai.StreamingChatModel;
 import com.socialmedia.editor.dto.AIContentRequest;
 import com.socialmedia.editor.dto.AIContentResponse;
-import dev.langchain4j.model.chat.ChatLanguageModel;
+import com.socialmedia.editor.model.User;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -19,75 +24,116 @@ public class AIContentService {
     private static final Logger logger = LoggerFactory.getLogger(AIContentService.class);
 
     @Autowired
-    private ChatLanguageModel chatLanguageModel;
+    private AsyncChatModel asyncChatModel;
 
-    public AIContentResponse generateContent(AIContentRequest request) {
-        try {
-            String prompt = buildPrompt(request);
-            String generatedText = chatLanguageModel.generate(prompt);
+    @Autowired
+    private StreamingChatModel streamingChatModel;
 
-            AIContentResponse response = new AIContentResponse(generatedText);
-            response.setTone(request.getTone());
-            response.setPlatform(request.getPlatform());
+    @Autowired
+    private AIResponseCache aiResponseCache;
 
-            return response;
-        } catch (Exception e) {
-            logger.error("Error generating content", e);
-            return new AIContentResponse("Failed to generate content: " + e.getMessage(), false);
-        }
+    @Autowired
+    private GeminiAdmissionQueue geminiAdmissionQueue;
+
+    public CompletableFuture<AIContentResponse> generateContent(AIContentRequest request, User user) {
+        return generate(AIResponseCache.Operation.GENERATE, buildPrompt(request), request, user)
+                .thenApply(generatedText -> {
+                    AIContentResponse response = new AIContentResponse(generatedText);
+                    response.setTone(request.getTone());
+                    response.setPlatform(request.getPlatform());
+                    return response;
+                })
+                .exceptionally(e -> failure("Error generating content", "Failed to generate content: ", e));
     }
 
-    public AIContentResponse improveContent(AIContentRequest request) {
-        try {
-            String prompt = buildImprovePrompt(request);
-            String improvedText = chatLanguageModel.generate(prompt);
-
-            AIContentResponse response = new AIContentResponse(improvedText);
-            response.setTone(request.getTone());
-            response.setPlatform(request.getPlatform());
-
-            return response;
-        } catch (Exception e) {
-            logger.error("Error improving content", e);
-            return new AIContentResponse("Failed to improve content: " + e.getMessage(), false);
-        }
+    public CompletableFuture<AIContentResponse> improveContent(AIContentRequest request, User user) {
+        return generate(AIResponseCache.Operation.IMPROVE, buildImprovePrompt(request), request, user)
+                .thenApply(improvedText -> {
+                    AIContentResponse response = new AIContentResponse(improvedText);
+                    response.setTone(request.getTone());
+                    response.setPlatform(request.getPlatform());
+                    return response;
+                })
+                .exceptionally(e -> failure("Error improving content", "Failed to improve content: ", e));
     }
 
-    public AIContentResponse generateHashtags(AIContentRequest request) {
-        try {
-            String prompt = buildHashtagPrompt(request);
-            String hashtagText = chatLanguageModel.generate(prompt);
-
-            List<String> hashtags = extractHashtags(hashtagText);
+    /**
+     * Like {@link #generateContent} but emits the text as it is generated.
+     */
+    public Flux<String> streamContent(AIContentRequest request, User user) {
+        String prompt = buildPrompt(request);
+        return geminiAdmissionQueue.stream(userId(user), GeminiAdmissionQueue.Priority.INTERACTIVE,
+                        () -> streamingChatModel.stream(prompt))
+                .doOnError(e -> logger.error("Error streaming content", e));
+    }
 
-            AIContentResponse response = new AIContentResponse();
-            response.setHashtags(hashtags);
-            response.setPlatform(request.getPlatform());
+    /**
+     * Like {@link #improveContent} but emits the text as it is generated.
+     */
+    public Flux<String> streamImprovedContent(AIContentRequest request, User user) {
+        String prompt = buildImprovePrompt(request);
+        return geminiAdmissionQueue.stream(userId(user), GeminiAdmissionQueue.Priority.INTERACTIVE,
+                        () -> streamingChatModel.stream(prompt))
+                .doOnError(e -> logger.error("Error streaming improved content", e));
+    }
 
-            return response;
-        } catch (Exception e) {
-            logger.error("Error generating hashtags", e);
-            return new AIContentResponse("Failed to generate hashtags: " + e.getMessage(), false);
-        }
+    public CompletableFuture<AIContentResponse> generateHashtags(AIContentRequest request, User user) {
+        return generate(AIResponseCache.Operation.HASHTAGS, buildHashtagPrompt(request), request, user)
+                .thenApply(hashtagText -> {
+                    AIContentResponse response = new AIContentResponse();
+                    response.setHashtags(extractHashtags(hashtagText));
+                    response.setPlatform(request.getPlatform());
+                    return response;
+                })
+                .exceptionally(e -> failure("Error generating hashtags", "Failed to generate hashtags: ", e));
     }
 
-    public AIContentResponse generateVariations(AIContentRequest request) {
-        try {
-            String prompt = buildVariationsPrompt(request);
-            String variationsText = chatLanguageModel.generate(prompt);
+    public CompletableFuture<AIContentResponse> generateVariations(AIContentRequest request, User user) {
+        return generate(AIResponseCache.Operation.VARIATIONS, buildVariationsPrompt(request), request, user)
+                .thenApply(variationsText -> {
+                    AIContentResponse response = new AIContentResponse();
+                    response.setVariations(Arrays.asList(variationsText.split("\n\n")));
+                    response.setTone(request.getTone());
+                    response.setPlatform(request.getPlatform());
+                    return response;
+                })
+                .exceptionally(e -> failure("Error generating variations", "Failed to generate variations: ", e));
+    }
 
-            List<String> variations = Arrays.asList(variationsText.split("\n\n"));
+    /**
+     * Cache hits skip admission. Every other request waits for its own user's turn: the one that
+     * calls Gemini holds its slot for the call, while one joining an identical call in flight
+     * gives the slot back at once. Generate and improve are interactive work, hashtags and
+     * variations bulk.
+     */
+    private CompletableFuture<String> generate(AIResponseCache.Operation operation, String prompt,
+                                               AIContentRequest request, User user) {
+        GeminiAdmissionQueue.Priority priority = operation == AIResponseCache.Operation.GENERATE
+                || operation == AIResponseCache.Operation.IMPROVE
+                ? GeminiAdmissionQueue.Priority.INTERACTIVE
+                : GeminiAdmissionQueue.Priority.BULK;
+        Long userId = userId(user);
+        return aiResponseCache.get(operation, prompt, request.isBypassCache(),
+                () -> geminiAdmissionQueue.awaitTurn(userId, priority),
+                uncached -> geminiAdmissionQueue.submit(userId, priority,
+                        () -> asyncChatModel.generateAsync(uncached)));
+    }
 
-            AIContentResponse response = new AIContentResponse();
-            response.setVariations(variations);
-            response.setTone(request.getTone());
-            response.setPlatform(request.getPlatform());
+    private Long userId(User user) {
+        return user == null ? null : user.getId();
+    }
 
-            return response;
-        } catch (Exception e) {
-            logger.error("Error generating variations", e);
-            return new AIContentResponse("Failed to generate variations: " + e.getMessage(), false);
+    /**
+     * Turns a failure into an unsuccessful response, except for a shed request: that one stays a
+     * failed future carrying {@link AIOverloadedException}, so the caller can answer 429.
+     */
+    private AIContentResponse failure(String logMessage, String userMessage, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof AIOverloadedException overloaded) {
+            throw overloaded;
         }
+        logger.error(logMessage, cause);
+        return new AIContentResponse(userMessage + cause.getMessage(), false);
     }
 
     // LangChain4j handles API invocation; no manual HTTP/JSON required
@@ -0,0 +1,14 @@
+package com.socialmedia.editor.service;
+
+/**
+ * Thrown when a request to the AI model is shed instead of being sent: its user already has too
+ * many requests waiting, or it waited longer than its class allows.
+ */
+public class AIOverloadedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public AIOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,220 @@
+package com.socialmedia.editor.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.socialmedia.editor.config.GeminiConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache of Gemini completions in front of {@link AIContentService}, so regenerating
+ * hashtags or variations for unchanged content does not pay for another call.
+ * <p>
+ * Entries are keyed by model, temperature and a SHA-256 of the fully built prompt, so any change to
+ * the request's content, tone or platform is a different entry. Each {@link Operation} has its own
+ * TTL ({@code ai.cache.ttl.<operation>}); the cache is bounded by the total length of cached
+ * completions ({@code ai.cache.max-chars}). Hit/miss counters are published as
+ * {@code cache.*{cache="ai"}}; {@code ai.cache.saved.tokens} (estimated) and
+ * {@code ai.cache.saved.time} track the Gemini usage hits avoided, and {@code ai.requests.coalesced}
+ * counts requests that joined an identical call in flight.
+ */
+@Service
+public class AIResponseCache {
+
+    public enum Operation { GENERATE, IMPROVE, HASHTAGS, VARIATIONS }
+
+    // rough average for English text, good enough to estimate cost
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private final Cache<String, CachedResponse> cache;
+
+    private final String modelKey;
+
+    private final Map<Operation, Duration> ttls = new EnumMap<>(Operation.class);
+
+    // cache key -> Gemini call in progress, shared by identical concurrent requests
+    private final ConcurrentMap<String, CompletableFuture<String>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter coalesced;
+
+    private final Counter savedTokens;
+
+    private final Counter savedTime;
+
+    public AIResponseCache(GeminiConfig geminiConfig,
+                           MeterRegistry meterRegistry,
+                           Environment environment,
+                           @Value("${ai.cache.max-chars:5000000}") long maxChars,
+                           @Value("${ai.cache.ttl.default:1h}") Duration defaultTtl) {
+        this.modelKey = geminiConfig.getModel() + ":" + geminiConfig.getTemperature() + ":";
+        for (Operation operation : Operation.values()) {
+            String ttl = environment.getProperty("ai.cache.ttl." + operation.name().toLowerCase());
+            ttls.put(operation, ttl != null ? DurationStyle.detectAndParse(ttl) : defaultTtl);
+        }
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maxChars)
+                .<String, CachedResponse>weigher((key, response) -> response.text.length())
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse response, long currentTime) {
+                        return ttls.get(response.operation).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse response, long currentTime,
+                                                  long currentDuration) {
+                        return ttls.get(response.operation).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse response, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "ai");
+        this.coalesced = Counter.builder("ai.requests.coalesced")
+                .description("Requests that joined an identical Gemini call already in flight")
+                .register(meterRegistry);
+        Gauge.builder("ai.requests.in.flight", inFlight, Map::size)
+                .register(meterRegistry);
+        this.savedTokens = Counter.builder("ai.cache.saved.tokens")
+                .description("Estimated prompt and completion tokens not sent to Gemini thanks to cache hits")
+                .register(meterRegistry);
+        this.savedTime = Counter.builder("ai.cache.saved.time")
+                .description("Gemini response time saved by cache hits")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached completion of {@code prompt}, or calls {@code generate} and caches its
+     * result. With {@code bypass} the cache is not read but the new completion still replaces the
+     * cached one. Failures are not cached.
+     * <p>
+     * Concurrent requests for the same key (e.g. a double click, or teammates on a shared draft)
+     * share one call to {@code generate} and all receive its result or failure.
+     */
+    public CompletableFuture<String> get(Operation operation, String prompt, boolean bypass,
+                                         Function<String, CompletableFuture<String>> generate) {
+        return get(operation, prompt, bypass, () -> CompletableFuture.completedFuture(null), generate);
+    }
+
+    /**
+     * Like {@link #get(Operation, String, boolean, Function)}, but a request that finds an
+     * identical call in flight first waits for {@code beforeJoining}, e.g. its own turn in an
+     * admission queue, and fails with it instead of joining. If the call it joined is then shed
+     * with {@link AIOverloadedException}, that was another caller's turn running out, so the
+     * request tries once more itself instead of inheriting the failure.
+     */
+    public CompletableFuture<String> get(Operation operation, String prompt, boolean bypass,
+                                         Supplier<CompletableFuture<Void>> beforeJoining,
+                                         Function<String, CompletableFuture<String>> generate) {
+        return get(operation, prompt, bypass, beforeJoining, generate, true);
+    }
+
+    private CompletableFuture<String> get(Operation operation, String prompt, boolean bypass,
+                                          Supplier<CompletableFuture<Void>> beforeJoining,
+                                          Function<String, CompletableFuture<String>> generate,
+                                          boolean retryIfShed) {
+        String key = key(prompt);
+        if (!bypass) {
+            CachedResponse cached = cache.getIfPresent(key);
+            if (cached != null) {
+                savedTokens.increment((prompt.length() + cached.text.length()) / (double) CHARS_PER_TOKEN);
+                savedTime.increment(cached.generationNanos / 1e9);
+                return CompletableFuture.completedFuture(cached.text);
+            }
+        }
+
+        CompletableFuture<String> created = new CompletableFuture<>();
+        CompletableFuture<String> call = inFlight.putIfAbsent(key, created);
+        if (call != null) {
+            coalesced.increment();
+            // a new stage, so one caller cancelling does not fail the others
+            CompletableFuture<Void> turn = beforeJoining.get();
+            if (!retryIfShed) {
+                return turn.thenCompose(ignored -> call);
+            }
+            return turn.thenCompose(ignored -> call.exceptionallyCompose(error -> isShed(error)
+                    ? get(operation, prompt, bypass, () -> CompletableFuture.completedFuture(null), generate, false)
+                    : CompletableFuture.failedFuture(error)));
+        }
+
+        long start = System.nanoTime();
+        CompletableFuture<String> upstream;
+        try {
+            upstream = generate.apply(prompt);
+        } catch (RuntimeException e) {
+            upstream = CompletableFuture.failedFuture(e);
+        }
+        upstream.whenComplete((text, error) -> {
+            if (error == null) {
+                cache.put(key, new CachedResponse(operation, text, System.nanoTime() - start));
+            }
+            // only after caching, so a request arriving now finds either the entry or this call
+            inFlight.remove(key, created);
+            if (error == null) {
+                created.complete(text);
+            } else {
+                created.completeExceptionally(error);
+            }
+        });
+        return created.copy();
+    }
+
+    private static boolean isShed(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof AIOverloadedException;
+    }
+
+    private String key(String prompt) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(prompt.getBytes(StandardCharsets.UTF_8));
+            return modelKey + HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static class CachedResponse {
+
+        private final Operation operation;
+
+        private final String text;
+
+        private final long generationNanos;
+
+        CachedResponse(Operation operation, String text, long generationNanos) {
+            this.operation = operation;
+            this.text = text;
+            this.generationNanos = generationNanos;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.socialmedia.editor.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.socialmedia.editor.dto.AccountRefreshJobDto;
+import com.socialmedia.editor.model.SocialMediaAccount;
+import com.socialmedia.editor.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs a user's account stats refreshes as a background job.
+ * <p>
+ * All of the user's accounts are refreshed concurrently, so the job takes roughly as long as the
+ * slowest account. Concurrency is capped per platform (an executor each, so one slow network
+ * cannot starve the others) and globally ({@code dashboard.refresh.max-concurrency} slots shared
+ * by all platforms). Accounts wait in one queue, oldest first, until both a global and a platform
+ * slot are free, and only then go to their platform's executor, so waiting work never ties up a
+ * platform thread; at most {@code queue-capacity} accounts per platform may wait. Jobs are kept in memory for
+ * {@code dashboard.refresh.job-retention} so clients can poll per-account outcomes and timings.
+ */
+@Service
+public class AccountRefreshService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountRefreshService.class);
+
+    private final SocialMediaService socialMediaService;
+
+    private final MeterRegistry meterRegistry;
+
+    private final int maxConcurrency;
+
+    private final int perPlatformConcurrency;
+
+    private final int queueCapacity;
+
+    private final Map<SocialMediaAccount.Platform, ThreadPoolExecutor> platformExecutors =
+            new EnumMap<>(SocialMediaAccount.Platform.class);
+
+    private final Cache<String, RefreshJob> jobs;
+
+    // userId -> job still running, so repeated clicks join the running job instead of starting another
+    private final ConcurrentMap<Long, RefreshJob> runningJobs = new ConcurrentHashMap<>();
+
+    // accounts waiting for a global and a platform slot, oldest first; guarded by this
+    private final Deque<PendingRefresh> pending = new ArrayDeque<>();
+
+    private final Map<SocialMediaAccount.Platform, Integer> pendingByPlatform =
+            new EnumMap<>(SocialMediaAccount.Platform.class);
+
+    private final Map<SocialMediaAccount.Platform, Integer> runningByPlatform =
+            new EnumMap<>(SocialMediaAccount.Platform.class);
+
+    private int running;
+
+    public AccountRefreshService(SocialMediaService socialMediaService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${dashboard.refresh.max-concurrency:8}") int maxConcurrency,
+                                 @Value("${dashboard.refresh.per-platform-concurrency:4}") int perPlatformConcurrency,
+                                 @Value("${dashboard.refresh.queue-capacity:100}") int queueCapacity,
+                                 @Value("${dashboard.refresh.job-retention:1h}") Duration jobRetention) {
+        this.socialMediaService = socialMediaService;
+        this.meterRegistry = meterRegistry;
+        this.maxConcurrency = maxConcurrency;
+        this.perPlatformConcurrency = perPlatformConcurrency;
+        this.queueCapacity = queueCapacity;
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(jobRetention)
+                .build();
+        for (SocialMediaAccount.Platform platform : SocialMediaAccount.Platform.values()) {
+            // only handed work when a platform slot is free, so the queue holds at most a hand-over
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(perPlatformConcurrency, perPlatformConcurrency,
+                    60L, TimeUnit.SECONDS, new ArrayBlockingQueue<>(perPlatformConcurrency),
+                    new CustomizableThreadFactory("stats-refresh-" + platform.name().toLowerCase() + "-"),
+                    new ThreadPoolExecutor.AbortPolicy());
+            executor.allowCoreThreadTimeOut(true);
+            platformExecutors.put(platform, executor);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        platformExecutors.values().forEach(ThreadPoolExecutor::shutdownNow);
+    }
+
+    /**
+     * Starts refreshing all of the user's active accounts and returns immediately. If a refresh
+     * for the user is already running, that job is returned instead.
+     */
+    public AccountRefreshJobDto startRefresh(User user) {
+        RefreshJob current = runningJobs.get(user.getId());
+        if (current != null) {
+            return current.toDto();
+        }
+        // loaded outside the map so the query does not hold up other users' jobs
+        List<SocialMediaAccount> accounts = socialMediaService.getActiveAccountsByUser(user);
+        RefreshJob created = new RefreshJob(UUID.randomUUID().toString(), user.getId(), accounts);
+        RefreshJob existing = runningJobs.putIfAbsent(user.getId(), created);
+        if (existing != null) {
+            return existing.toDto();
+        }
+        jobs.put(created.id, created);
+        if (created.results.isEmpty()) {
+            complete(created);
+        }
+        for (AccountResult result : created.results.values()) {
+            submit(created, result);
+        }
+        return created.toDto();
+    }
+
+    public Optional<AccountRefreshJobDto> getJob(String jobId, User user) {
+        RefreshJob job = jobs.getIfPresent(jobId);
+        if (job == null || !job.userId.equals(user.getId())) {
+            return Optional.empty();
+        }
+        return Optional.of(job.toDto());
+    }
+
+    private void submit(RefreshJob job, AccountResult result) {
+        boolean queued;
+        synchronized (this) {
+            queued = pendingByPlatform.getOrDefault(result.platform, 0) < queueCapacity;
+            if (queued) {
+                pending.add(new PendingRefresh(job, result));
+                pendingByPlatform.merge(result.platform, 1, Integer::sum);
+            }
+        }
+        if (!queued) {
+            result.finish(AccountRefreshJobDto.AccountStatus.FAILED, 0L, "Refresh capacity exhausted, try again later");
+            accountDone(job);
+            return;
+        }
+        dispatch();
+    }
+
+    private void dispatch() {
+        for (PendingRefresh next : takeStartable()) {
+            try {
+                platformExecutors.get(next.result.platform).execute(() -> refresh(next.job, next.result));
+            } catch (RejectedExecutionException e) {
+                // shutting down
+                slotFreed(next.result.platform);
+                next.result.finish(AccountRefreshJobDto.AccountStatus.FAILED, 0L, "Refresh cancelled");
+                accountDone(next.job);
+            }
+        }
+    }
+
+    /**
+     * Claims a global and a platform slot for every waiting account that can start now, skipping
+     * accounts whose platform is at its cap.
+     */
+    private synchronized List<PendingRefresh> takeStartable() {
+        List<PendingRefresh> startable = new ArrayList<>();
+        Iterator<PendingRefresh> iterator = pending.iterator();
+        while (running < maxConcurrency && iterator.hasNext()) {
+            PendingRefresh next = iterator.next();
+            SocialMediaAccount.Platform platform = next.result.platform;
+            if (runningByPlatform.getOrDefault(platform, 0) < perPlatformConcurrency) {
+                iterator.remove();
+                pendingByPlatform.merge(platform, -1, Integer::sum);
+                runningByPlatform.merge(platform, 1, Integer::sum);
+                running++;
+                startable.add(next);
+            }
+        }
+        return startable;
+    }
+
+    private synchronized void slotFreed(SocialMediaAccount.Platform platform) {
+        runningByPlatform.merge(platform, -1, Integer::sum);
+        running--;
+    }
+
+    private void refresh(RefreshJob job, AccountResult result) {
+        long start = System.nanoTime();
+        try {
+            result.status = AccountRefreshJobDto.AccountStatus.RUNNING;
+            socialMediaService.refreshAccountStats(result.accountId);
+            long elapsed = System.nanoTime() - start;
+            record(result.platform, "succeeded", elapsed);
+            result.finish(AccountRefreshJobDto.AccountStatus.SUCCEEDED, TimeUnit.NANOSECONDS.toMillis(elapsed), null);
+        } catch (Exception e) {
+            long elapsed = System.nanoTime() - start;
+            logger.warn("Stats refresh failed for account {}: {}", result.accountId, e.getMessage());
+            record(result.platform, "failed", elapsed);
+            result.finish(AccountRefreshJobDto.AccountStatus.FAILED, TimeUnit.NANOSECONDS.toMillis(elapsed), e.getMessage());
+        } finally {
+            slotFreed(result.platform);
+            accountDone(job);
+            dispatch();
+        }
+    }
+
+    private void record(SocialMediaAccount.Platform platform, String outcome, long elapsedNanos) {
+        Timer.builder("accounts.refresh")
+                .tag("platform", platform.name().toLowerCase())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void accountDone(RefreshJob job) {
+        if (job.remaining.decrementAndGet() == 0) {
+            complete(job);
+        }
+    }
+
+    private void complete(RefreshJob job) {
+        job.completedAt = LocalDateTime.now();
+        runningJobs.remove(job.userId, job);
+    }
+
+    private static final class RefreshJob {
+
+        private final String id;
+
+        private final Long userId;
+
+        private final LocalDateTime startedAt = LocalDateTime.now();
+
+        private volatile LocalDateTime completedAt;
+
+        private final Map<Long, AccountResult> results = new ConcurrentHashMap<>();
+
+        private final AtomicInteger remaining;
+
+        private RefreshJob(String id, Long userId, List<SocialMediaAccount> accounts) {
+            this.id = id;
+            this.userId = userId;
+            for (SocialMediaAccount account : accounts) {
+                results.put(account.getId(), new AccountResult(account.getId(), account.getPlatform()));
+            }
+            this.remaining = new AtomicInteger(results.size());
+        }
+
+        private AccountRefreshJobDto toDto() {
+            List<AccountRefreshJobDto.AccountResultDto> accounts = new ArrayList<>();
+            for (AccountResult result : results.values()) {
+                accounts.add(result.toDto());
+            }
+            accounts.sort(Comparator.comparing(AccountRefreshJobDto.AccountResultDto::getAccountId));
+            LocalDateTime completed = completedAt;
+            return new AccountRefreshJobDto(id,
+                    completed == null ? AccountRefreshJobDto.JobStatus.RUNNING : AccountRefreshJobDto.JobStatus.COMPLETED,
+                    startedAt, completed, accounts);
+        }
+    }
+
+    private static final class PendingRefresh {
+
+        private final RefreshJob job;
+
+        private final AccountResult result;
+
+        private PendingRefresh(RefreshJob job, AccountResult result) {
+            this.job = job;
+            this.result = result;
+        }
+    }
+
+    private static final class AccountResult {
+
+        private final Long accountId;
+
+        private final SocialMediaAccount.Platform platform;
+
+        private volatile AccountRefreshJobDto.AccountStatus status = AccountRefreshJobDto.AccountStatus.PENDING;
+
+        private volatile Long durationMillis;
+
+        private volatile String error;
+
+        private AccountResult(Long accountId, SocialMediaAccount.Platform platform) {
+            this.accountId = accountId;
+            this.platform = platform;
+        }
+
+        private void finish(AccountRefreshJobDto.AccountStatus status, Long durationMillis, String error) {
+            this.durationMillis = durationMillis;
+            this.error = error;
+            this.status = status;
+        }
+
+        private AccountRefreshJobDto.AccountResultDto toDto() {
+            return new AccountRefreshJobDto.AccountResultDto(accountId, platform, status, durationMillis, error);
+        }
+    }
+}
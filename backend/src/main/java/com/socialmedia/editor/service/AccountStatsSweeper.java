@@ -0,0 +1,209 @@
+package com.socialmedia.editor.service;
+
+import com.socialmedia.editor.model.SocialMediaAccount;
+import com.socialmedia.editor.repository.SocialMediaAccountRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps account stats fresh without waiting for a user to click refresh.
+ * <p>
+ * Each sweep refreshes the stalest active accounts (oldest {@code updatedAt} first) in the shards
+ * this node holds a lease on; see {@link RefreshLeaseService}. Every platform has its own
+ * throughput budget ({@code stats-refresh.budget.<platform>} refreshes per minute, falling back to
+ * {@code stats-refresh.budget.default}); accounts over budget wait for the next sweep.
+ * <p>
+ * The sweep shares Spring's scheduler thread with every other {@code @Scheduled} task, so it never
+ * waits for refreshes there: each tick renews the leases and, once the previous batch has finished,
+ * hands the next one to the sweeper's own workers. Leases are renewed on every tick, so a slow
+ * batch may outlast {@code lease-duration} as long as {@code sweep-interval} stays shorter.
+ */
+@Service
+@ConditionalOnProperty(prefix = "stats-refresh", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AccountStatsSweeper {
+
+    private static final Logger logger = LoggerFactory.getLogger(AccountStatsSweeper.class);
+
+    private static final String BUDGET_KEY = "sweep";
+
+    private final RefreshLeaseService refreshLeaseService;
+
+    private final SocialMediaAccountRepository socialMediaAccountRepository;
+
+    private final SocialMediaService socialMediaService;
+
+    private final int shardCount;
+
+    private final Duration leaseDuration;
+
+    private final Duration staleAfter;
+
+    private final int batchSize;
+
+    private final ExecutorService workers;
+
+    private final Map<SocialMediaAccount.Platform, TokenBucketRateLimiter> budgets =
+            new EnumMap<>(SocialMediaAccount.Platform.class);
+
+    private volatile List<Integer> ownedShards = List.of();
+
+    private volatile CompletableFuture<Void> batch = CompletableFuture.completedFuture(null);
+
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    private final Timer sweepTimer;
+
+    private final Counter refreshed;
+
+    private final Counter failed;
+
+    private final Counter throttled;
+
+    public AccountStatsSweeper(RefreshLeaseService refreshLeaseService,
+                               SocialMediaAccountRepository socialMediaAccountRepository,
+                               SocialMediaService socialMediaService,
+                               MeterRegistry meterRegistry,
+                               Environment environment,
+                               @Value("${stats-refresh.shards:16}") int shardCount,
+                               @Value("${stats-refresh.lease-duration:3m}") Duration leaseDuration,
+                               @Value("${stats-refresh.stale-after:6h}") Duration staleAfter,
+                               @Value("${stats-refresh.batch-size:200}") int batchSize,
+                               @Value("${stats-refresh.workers:4}") int workerCount,
+                               @Value("${stats-refresh.budget.default:60}") int defaultBudget) {
+        this.refreshLeaseService = refreshLeaseService;
+        this.socialMediaAccountRepository = socialMediaAccountRepository;
+        this.socialMediaService = socialMediaService;
+        this.shardCount = shardCount;
+        this.leaseDuration = leaseDuration;
+        this.staleAfter = staleAfter;
+        this.batchSize = batchSize;
+        this.workers = Executors.newFixedThreadPool(workerCount, new CustomizableThreadFactory("stats-sweeper-"));
+        for (SocialMediaAccount.Platform platform : SocialMediaAccount.Platform.values()) {
+            int perMinute = environment.getProperty("stats-refresh.budget." + platform.name().toLowerCase(),
+                    Integer.class, defaultBudget);
+            budgets.put(platform, new TokenBucketRateLimiter(perMinute, Duration.ofMinutes(1)));
+        }
+
+        this.sweepTimer = Timer.builder("stats.refresh.sweep")
+                .register(meterRegistry);
+        this.refreshed = Counter.builder("stats.refresh.accounts")
+                .tag("outcome", "refreshed")
+                .register(meterRegistry);
+        this.failed = Counter.builder("stats.refresh.accounts")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        this.throttled = Counter.builder("stats.refresh.accounts")
+                .tag("outcome", "throttled")
+                .description("Stale accounts deferred to a later sweep because their platform's budget was spent")
+                .register(meterRegistry);
+        Gauge.builder("stats.refresh.lag", lagSeconds, AtomicLong::get)
+                .description("Age in seconds of the stalest account in this node's shards at the start of the last sweep")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+        Gauge.builder("stats.refresh.shards.owned", this, sweeper -> sweeper.ownedShards.size())
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            refreshLeaseService.ensureShards(shardCount);
+        } catch (DataIntegrityViolationException e) {
+            // another node created the shard rows at the same time
+            logger.debug("Refresh lease shards already initialised");
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdownNow();
+        try {
+            refreshLeaseService.releaseAll(refreshLeaseService.getNodeId(), ownedShards);
+        } catch (Exception e) {
+            logger.warn("Failed to release refresh leases on shutdown", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${stats-refresh.sweep-interval:60000}",
+            initialDelayString = "${stats-refresh.sweep-interval:60000}")
+    public void sweep() {
+        try {
+            ownedShards = refreshLeaseService.rebalance(refreshLeaseService.getNodeId(), shardCount, leaseDuration);
+            if (!batch.isDone()) {
+                logger.debug("Previous stats sweep still running, only renewed leases on {}", ownedShards);
+                return;
+            }
+            batch = startBatch();
+        } catch (Exception e) {
+            logger.error("Account stats sweep failed", e);
+        }
+    }
+
+    private CompletableFuture<Void> startBatch() {
+        if (ownedShards.isEmpty()) {
+            lagSeconds.set(0);
+            return CompletableFuture.completedFuture(null);
+        }
+        long start = System.nanoTime();
+        List<Integer> shards = ownedShards;
+
+        LocalDateTime now = LocalDateTime.now();
+        List<SocialMediaAccount> stale = socialMediaAccountRepository.findStaleInShards(
+                shardCount, shards, now.minus(staleAfter), PageRequest.of(0, batchSize));
+        LocalDateTime oldest = stale.isEmpty() ? null : stale.get(0).getUpdatedAt();
+        lagSeconds.set(oldest == null ? 0 : Duration.between(oldest, now).getSeconds());
+
+        List<CompletableFuture<Void>> refreshes = new ArrayList<>();
+        for (SocialMediaAccount account : stale) {
+            if (budgets.get(account.getPlatform()).tryAcquire(BUDGET_KEY) > 0) {
+                throttled.increment();
+                continue;
+            }
+            Long accountId = account.getId();
+            refreshes.add(CompletableFuture.runAsync(() -> refresh(accountId), workers));
+        }
+        return CompletableFuture.allOf(refreshes.toArray(new CompletableFuture<?>[0]))
+                .whenComplete((ignored, error) -> {
+                    sweepTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    logger.debug("Stats sweep over shards {} refreshed {} of {} stale accounts",
+                            shards, refreshes.size(), stale.size());
+                });
+    }
+
+    private void refresh(Long accountId) {
+        try {
+            socialMediaService.refreshAccountStats(accountId);
+            refreshed.increment();
+        } catch (Exception e) {
+            logger.warn("Background stats refresh failed for account {}: {}", accountId, e.getMessage());
+            failed.increment();
+        }
+    }
+}
@@ -3,18 +3,19 @@ package com.socialmedia.editor.service;
 import com.socialmedia.editor.model.User;
 import com.socialmedia.editor.repository.UserRepository;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.security.Key;
 import java.util.Date;
 import java.util.Optional;
+import java.util.UUID;
 
 @Service
 public class AuthService {
@@ -28,14 +29,22 @@ public class AuthService {
     @Value("${jwt.expiration}")
     private int jwtExpirationMs;
 
-    private BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    private volatile Key signingKey;
+
+    private volatile JwtParser jwtParser;
 
     public String authenticateUser(String username, String password) {
         Optional<User> userOptional = userRepository.findByUsername(username);
 
         if (userOptional.isPresent()) {
             User user = userOptional.get();
-            if (passwordEncoder.matches(password, user.getPassword())) {
+            if (passwordHashingService.matches(password, user.getPassword())) {
                 return generateJwtToken(username);
             }
         }
@@ -51,45 +60,79 @@ public class AuthService {
             throw new RuntimeException("Email is already in use!");
         }
 
-        User user = new User(username, email, passwordEncoder.encode(password));
+        User user = new User(username, email, passwordHashingService.encode(password));
         return userRepository.save(user);
     }
 
     public String generateJwtToken(String username) {
-        Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-
+        Date issuedAt = new Date();
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(username)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date((new Date()).getTime() + jwtExpirationMs))
-                .signWith(key, SignatureAlgorithm.HS256)
+                .setIssuedAt(issuedAt)
+                .claim(TokenRevocationService.ISSUED_AT_MILLIS_CLAIM, issuedAt.getTime())
+                .setExpiration(new Date(issuedAt.getTime() + jwtExpirationMs))
+                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
+    /**
+     * Verifies the token signature and expiry in a single parse and returns its claims
+     * (subject, expiration, issued-at). Throws a {@link io.jsonwebtoken.JwtException}
+     * or {@link IllegalArgumentException} when the token is not valid.
+     */
+    public Claims verifyJwtToken(String token) {
+        return getJwtParser().parseClaimsJws(token).getBody();
+    }
+
     public String getUsernameFromJwtToken(String token) {
-        Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        return verifyJwtToken(token).getSubject();
+    }
 
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public void logout(String token) {
+        tokenRevocationService.revokeToken(verifyJwtToken(token));
+    }
 
-        return claims.getSubject();
+    public void revokeAllSessions(User user) {
+        tokenRevocationService.revokeAllSessions(user);
     }
 
     public boolean validateJwtToken(String authToken) {
         try {
-            Key key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(authToken);
+            verifyJwtToken(authToken);
             return true;
         } catch (Exception e) {
             return false;
         }
     }
 
+    // The key and parser are immutable and thread-safe, so they are built once on first use
+    private Key getSigningKey() {
+        Key key = signingKey;
+        if (key == null) {
+            key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+            signingKey = key;
+        }
+        return key;
+    }
+
+    private JwtParser getJwtParser() {
+        JwtParser parser = jwtParser;
+        if (parser == null) {
+            parser = Jwts.parserBuilder().setSigningKey(getSigningKey()).build();
+            jwtParser = parser;
+        }
+        return parser;
+    }
+
+    /**
+     * Returns the principal resolved by JWTAuthenticationFilter; controllers normally receive it
+     * directly through {@code @AuthenticationPrincipal}.
+     */
     public User getCurrentUser(Authentication authentication) throws IllegalAccessException {
-        return userRepository.findByUsername(((User) authentication.getPrincipal()).getUsername())
-                .orElseThrow(() -> new IllegalAccessException("User %s not found".formatted(authentication.getName())));
+        if (authentication == null || !(authentication.getPrincipal() instanceof User user)) {
+            throw new IllegalAccessException("No authenticated user");
+        }
+        return user;
     }
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package com.socialmedia.editor.service;
 
+import com.socialmedia.editor.dto.AccountRefreshJobDto;
 import com.socialmedia.editor.dto.DashboardStatsDto;
 import com.socialmedia.editor.model.SocialMediaAccount;
 import com.socialmedia.editor.model.User;
@@ -7,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,36 +20,45 @@ public class DashboardService {
     @Autowired
     private PostService postService;
 
+    @Autowired
+    private DashboardStatsCache dashboardStatsCache;
+
+    @Autowired
+    private AccountRefreshService accountRefreshService;
+
     public DashboardStatsDto getDashboardStats(User user) {
+        return dashboardStatsCache.get(user.getId(), () -> computeDashboardStats(user));
+    }
+
+    private DashboardStatsDto computeDashboardStats(User user) {
         List<SocialMediaAccount> accounts = socialMediaService.getActiveAccountsByUser(user);
         List<DashboardStatsDto.SocialMediaAccountDto> accountDtos = accounts.stream()
                 .map(DashboardStatsDto.SocialMediaAccountDto::new)
                 .collect(Collectors.toList());
 
-        DashboardStatsDto.PostStatisticsDto postStats = new DashboardStatsDto.PostStatisticsDto(
-                postService.getTotalPostCountByUser(user),
-                postService.getDraftPostCountByUser(user),
-                postService.getPublishedPostCountByUser(user),
-                postService.getScheduledPostCountByUser(user),
-                postService.getTotalEngagementByUser(user),
-                postService.getTotalLikesByUser(user),
-                postService.getTotalSharesByUser(user),
-                postService.getTotalCommentsByUser(user)
-        );
+        DashboardStatsDto.PostStatisticsDto postStats = postService.getPostStatisticsByUser(user);
 
-        Long totalFollowers = socialMediaService.getTotalFollowersByUser(user);
-        Long totalFollowing = socialMediaService.getTotalFollowingByUser(user);
+        // the accounts are already loaded, so sum them here rather than querying again
+        long totalFollowers = 0L;
+        long totalFollowing = 0L;
+        for (SocialMediaAccount account : accounts) {
+            totalFollowers += account.getFollowersCount() != null ? account.getFollowersCount() : 0L;
+            totalFollowing += account.getFollowingCount() != null ? account.getFollowingCount() : 0L;
+        }
 
         return new DashboardStatsDto(accountDtos, postStats, totalFollowers, totalFollowing);
     }
 
-    public void refreshAllAccountStats(User user) {
-        List<SocialMediaAccount> accounts = socialMediaService.getActiveAccountsByUser(user);
-        for (SocialMediaAccount account : accounts) {
-            try {
-                socialMediaService.refreshAccountStats(account.getId());
-            } catch (Exception e) {
-            }
-        }
+    /**
+     * Starts refreshing every active account of the user in the background.
+     *
+     * @return the job, whose id can be polled through {@link #getRefreshJob}
+     */
+    public AccountRefreshJobDto refreshAllAccountStats(User user) {
+        return accountRefreshService.startRefresh(user);
+    }
+
+    public Optional<AccountRefreshJobDto> getRefreshJob(String jobId, User user) {
+        return accountRefreshService.getJob(jobId, user);
     }
 }
\ No newline at end of file
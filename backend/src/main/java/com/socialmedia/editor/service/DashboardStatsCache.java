@@ -0,0 +1,64 @@
+package com.socialmedia.editor.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.socialmedia.editor.dto.DashboardStatsDto;
+import com.socialmedia.editor.event.AccountChangedEvent;
+import com.socialmedia.editor.event.PostChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Bounded per-user cache of dashboard statistics. Entries are dropped as soon as a
+ * {@link PostChangedEvent} or {@link AccountChangedEvent} for the user is published (after commit,
+ * when published inside a transaction); {@code dashboard.cache.ttl} only bounds staleness from
+ * changes that bypass the services, such as bulk updates.
+ * Hit/miss counters are published as {@code cache.*{cache="dashboard"}} and recomputations are
+ * timed as {@code dashboard.stats.compute}.
+ */
+@Service
+public class DashboardStatsCache {
+
+    private final Cache<Long, DashboardStatsDto> cache;
+
+    private final Timer computeTimer;
+
+    public DashboardStatsCache(MeterRegistry meterRegistry,
+                               @Value("${dashboard.cache.max-size:10000}") long maxSize,
+                               @Value("${dashboard.cache.ttl:60s}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.computeTimer = Timer.builder("dashboard.stats.compute")
+                .description("Time spent recomputing a user's dashboard statistics on a cache miss")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "dashboard");
+    }
+
+    public DashboardStatsDto get(Long userId, Supplier<DashboardStatsDto> compute) {
+        return cache.get(userId, id -> computeTimer.record(compute));
+    }
+
+    public void invalidate(Long userId) {
+        cache.invalidate(userId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountChanged(AccountChangedEvent event) {
+        invalidate(event.getUserId());
+    }
+}
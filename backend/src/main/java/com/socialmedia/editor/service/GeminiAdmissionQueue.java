@@ -0,0 +1,288 @@
+package com.socialmedia.editor.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Admission control for outbound Gemini calls.
+ * <p>
+ * At most {@code ai.admission.max-concurrency} calls run at once; the rest wait in per-user queues
+ * that are served round-robin (deficit round-robin with every request costing the same), so a user
+ * firing many requests only delays their own. {@link Priority#INTERACTIVE} requests are admitted
+ * before {@link Priority#BULK} ones, except that every {@code interactive-burst + 1}th admission
+ * goes to a waiting bulk request so bulk work is never starved outright.
+ * <p>
+ * Requests are shed with {@link AIOverloadedException} when their user already has
+ * {@code max-queued-per-user} requests waiting in that class, or after waiting longer than
+ * {@code queue-timeout.<class>}. Queue wait is timed as {@code ai.admission.wait{class}} and
+ * shedding counted as {@code ai.admission.shed{class,reason}}.
+ */
+@Service
+public class GeminiAdmissionQueue {
+
+    public enum Priority { INTERACTIVE, BULK }
+
+    private final int maxConcurrency;
+
+    private final int maxQueuedPerUser;
+
+    private final int interactiveBurst;
+
+    private final Map<Priority, Duration> queueTimeouts = new EnumMap<>(Priority.class);
+
+    // per class: userId -> that user's waiting requests, in round-robin order
+    private final Map<Priority, LinkedHashMap<Long, ArrayDeque<Waiter>>> queues = new EnumMap<>(Priority.class);
+
+    private final Map<Priority, Timer> waitTimers = new EnumMap<>(Priority.class);
+
+    private final Map<Priority, Counter> timedOut = new EnumMap<>(Priority.class);
+
+    private final Map<Priority, Counter> rejected = new EnumMap<>(Priority.class);
+
+    // shed timers of queued requests, cancelled when they are admitted
+    private final ScheduledThreadPoolExecutor timeouts;
+
+    private int active;
+
+    private int interactiveStreak;
+
+    public GeminiAdmissionQueue(MeterRegistry meterRegistry,
+                                @Value("${ai.admission.max-concurrency:8}") int maxConcurrency,
+                                @Value("${ai.admission.max-queued-per-user:10}") int maxQueuedPerUser,
+                                @Value("${ai.admission.interactive-burst:3}") int interactiveBurst,
+                                @Value("${ai.admission.queue-timeout.interactive:10s}") Duration interactiveTimeout,
+                                @Value("${ai.admission.queue-timeout.bulk:30s}") Duration bulkTimeout) {
+        this.maxConcurrency = maxConcurrency;
+        this.maxQueuedPerUser = maxQueuedPerUser;
+        this.interactiveBurst = interactiveBurst;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("ai-admission-");
+        threadFactory.setDaemon(true);
+        this.timeouts = new ScheduledThreadPoolExecutor(1, threadFactory);
+        this.timeouts.setRemoveOnCancelPolicy(true);
+        queueTimeouts.put(Priority.INTERACTIVE, interactiveTimeout);
+        queueTimeouts.put(Priority.BULK, bulkTimeout);
+        for (Priority priority : Priority.values()) {
+            String name = priority.name().toLowerCase();
+            queues.put(priority, new LinkedHashMap<>());
+            waitTimers.put(priority, Timer.builder("ai.admission.wait")
+                    .tag("class", name)
+                    .register(meterRegistry));
+            timedOut.put(priority, Counter.builder("ai.admission.shed")
+                    .tag("class", name)
+                    .tag("reason", "timeout")
+                    .register(meterRegistry));
+            rejected.put(priority, Counter.builder("ai.admission.shed")
+                    .tag("class", name)
+                    .tag("reason", "queue_full")
+                    .register(meterRegistry));
+            Gauge.builder("ai.admission.queued", this, queue -> queue.queuedCount(priority))
+                    .tag("class", name)
+                    .register(meterRegistry);
+        }
+        Gauge.builder("ai.admission.active", this, GeminiAdmissionQueue::activeCount)
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        timeouts.shutdownNow();
+    }
+
+    /**
+     * Runs {@code call} once admitted; the slot is held until the returned future completes.
+     */
+    public <T> CompletableFuture<T> submit(Long userId, Priority priority, Supplier<CompletableFuture<T>> call) {
+        return acquire(userId, priority).thenCompose(permit -> {
+            CompletableFuture<T> result;
+            try {
+                result = call.get();
+            } catch (RuntimeException e) {
+                result = CompletableFuture.failedFuture(e);
+            }
+            return result.whenComplete((value, error) -> permit.release());
+        });
+    }
+
+    /**
+     * Completes once it is this request's turn, without holding a slot afterwards; for requests
+     * that will share a call someone else is already making.
+     */
+    public CompletableFuture<Void> awaitTurn(Long userId, Priority priority) {
+        return acquire(userId, priority).thenAccept(Permit::release);
+    }
+
+    /**
+     * Subscribes to {@code call} once admitted; the slot is held until the stream terminates or is
+     * cancelled. Cancelling while still queued gives up the place in the queue.
+     */
+    public <T> Flux<T> stream(Long userId, Priority priority, Supplier<Flux<T>> call) {
+        return Flux.usingWhen(
+                Mono.fromFuture(() -> acquire(userId, priority)),
+                permit -> call.get(),
+                permit -> Mono.fromRunnable(permit::release));
+    }
+
+    CompletableFuture<Permit> acquire(Long userId, Priority priority) {
+        Waiter waiter = new Waiter(userId, priority);
+        synchronized (this) {
+            if (active < maxConcurrency && queues.values().stream().allMatch(Map::isEmpty)) {
+                active++;
+                waitTimers.get(priority).record(0, TimeUnit.NANOSECONDS);
+                return CompletableFuture.completedFuture(new Permit());
+            }
+            ArrayDeque<Waiter> queue = queues.get(priority).computeIfAbsent(userId, id -> new ArrayDeque<>());
+            if (queue.size() >= maxQueuedPerUser) {
+                rejected.get(priority).increment();
+                return CompletableFuture.failedFuture(
+                        new AIOverloadedException("Too many AI requests waiting, please try again shortly"));
+            }
+            queue.add(waiter);
+            waiter.timeout = timeouts.schedule(() -> expire(waiter),
+                    queueTimeouts.get(priority).toMillis(), TimeUnit.MILLISECONDS);
+        }
+        waiter.future.whenComplete((permit, error) -> {
+            if (waiter.future.isCancelled()) {
+                remove(waiter);
+            }
+        });
+        dispatch();
+        return waiter.future;
+    }
+
+    synchronized int activeCount() {
+        return active;
+    }
+
+    synchronized int queuedCount(Priority priority) {
+        return queues.get(priority).values().stream().mapToInt(ArrayDeque::size).sum();
+    }
+
+    private void dispatch() {
+        while (true) {
+            Waiter next;
+            synchronized (this) {
+                if (active >= maxConcurrency) {
+                    return;
+                }
+                next = pollNext();
+                if (next == null) {
+                    return;
+                }
+                active++;
+            }
+            next.timeout.cancel(false);
+            // completed outside the lock: continuations run inline and start the upstream call
+            if (next.future.complete(new Permit())) {
+                waitTimers.get(next.priority).record(System.nanoTime() - next.enqueuedAt, TimeUnit.NANOSECONDS);
+            } else {
+                // the caller gave up while queued
+                synchronized (this) {
+                    active--;
+                }
+            }
+        }
+    }
+
+    private Waiter pollNext() {
+        boolean interactiveWaiting = !queues.get(Priority.INTERACTIVE).isEmpty();
+        boolean bulkWaiting = !queues.get(Priority.BULK).isEmpty();
+        if (interactiveWaiting && (!bulkWaiting || interactiveStreak < interactiveBurst)) {
+            interactiveStreak++;
+            return pollRoundRobin(queues.get(Priority.INTERACTIVE));
+        }
+        if (bulkWaiting) {
+            interactiveStreak = 0;
+            return pollRoundRobin(queues.get(Priority.BULK));
+        }
+        return null;
+    }
+
+    private Waiter pollRoundRobin(LinkedHashMap<Long, ArrayDeque<Waiter>> users) {
+        Iterator<Map.Entry<Long, ArrayDeque<Waiter>>> iterator = users.entrySet().iterator();
+        Map.Entry<Long, ArrayDeque<Waiter>> first = iterator.next();
+        iterator.remove();
+        Waiter waiter = first.getValue().poll();
+        if (!first.getValue().isEmpty()) {
+            // back of the line until every other waiting user had a turn
+            users.put(first.getKey(), first.getValue());
+        }
+        return waiter;
+    }
+
+    private void expire(Waiter waiter) {
+        if (remove(waiter) && waiter.future.completeExceptionally(
+                new AIOverloadedException("The AI service is busy, please try again shortly"))) {
+            timedOut.get(waiter.priority).increment();
+        }
+    }
+
+    private synchronized boolean remove(Waiter waiter) {
+        LinkedHashMap<Long, ArrayDeque<Waiter>> users = queues.get(waiter.priority);
+        ArrayDeque<Waiter> queue = users.get(waiter.userId);
+        if (queue == null || !queue.remove(waiter)) {
+            return false;
+        }
+        if (queue.isEmpty()) {
+            users.remove(waiter.userId);
+        }
+        waiter.timeout.cancel(false);
+        return true;
+    }
+
+    /**
+     * A running slot; releasing it more than once has no effect.
+     */
+    class Permit {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                synchronized (GeminiAdmissionQueue.this) {
+                    active--;
+                }
+                dispatch();
+            }
+        }
+    }
+
+    private static class Waiter {
+
+        private final Long userId;
+
+        private final Priority priority;
+
+        private final long enqueuedAt = System.nanoTime();
+
+        private final CompletableFuture<Permit> future = new CompletableFuture<>();
+
+        // armed only while queued; guarded by the queue
+        private ScheduledFuture<?> timeout;
+
+        Waiter(Long userId, Priority priority) {
+            this.userId = userId;
+            this.priority = priority;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.socialmedia.editor.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.socialmedia.editor.config.HttpClientRegistry;
 import com.socialmedia.editor.config.LinkedInConfig;
 import com.socialmedia.editor.dto.LinkedInProfileDto;
 import com.socialmedia.editor.dto.LinkedInStatsDto;
@@ -17,7 +19,7 @@ import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import reactor.core.publisher.Mono;
 
-import java.time.Duration;
+import java.util.Map;
 
 @Service
 public class LinkedInConnectorService {
@@ -29,11 +31,19 @@ public class LinkedInConnectorService {
 
     private final WebClient webClient;
 
-    public LinkedInConnectorService() {
-        this.webClient = WebClient.builder()
+    private final WebClient oauthWebClient;
+
+    private final LinkedInResilience resilience;
+
+    public LinkedInConnectorService(HttpClientRegistry httpClientRegistry, LinkedInResilience resilience) {
+        this.resilience = resilience;
+        this.webClient = httpClientRegistry.webClient("linkedin-api")
                 .defaultHeader(HttpHeaders.USER_AGENT, "SocialMediaEditor/1.0")
                 .codecs(configurer -> configurer.defaultCodecs().maxInMemorySize(1024 * 1024))
                 .build();
+        this.oauthWebClient = httpClientRegistry.webClient("linkedin-oauth")
+                .defaultHeader(HttpHeaders.USER_AGENT, "SocialMediaEditor/1.0")
+                .build();
     }
 
     public String getAuthorizationUrl() {
@@ -48,14 +58,14 @@ public class LinkedInConnectorService {
         formData.add("client_secret", linkedInConfig.getClientSecret());
         formData.add("redirect_uri", linkedInConfig.getRedirectUri());
 
-        return webClient.post()
-                .uri(linkedInConfig.getTokenUri())
-                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-                .accept(MediaType.APPLICATION_JSON)
-                .body(BodyInserters.fromFormData(formData))
-                .retrieve()
-                .bodyToMono(LinkedInTokenResponseDto.class)
-                .timeout(Duration.ofSeconds(30))
+        // the code is single-use, so only retried when LinkedIn cannot have redeemed it
+        return resilience.nonIdempotent("token", oauthWebClient.post()
+                        .uri(linkedInConfig.getTokenUri())
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .body(BodyInserters.fromFormData(formData))
+                        .retrieve()
+                        .bodyToMono(LinkedInTokenResponseDto.class))
                 .doOnError(error -> logger.error("Error exchanging authorization code: ", error))
                 .onErrorMap(WebClientResponseException.class, ex -> {
                     logger.error("LinkedIn API error response: {}", ex.getResponseBodyAsString());
@@ -70,14 +80,13 @@ public class LinkedInConnectorService {
         formData.add("client_id", linkedInConfig.getClientId());
         formData.add("client_secret", linkedInConfig.getClientSecret());
 
-        return webClient.post()
-                .uri(linkedInConfig.getTokenUri())
-                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
-                .accept(MediaType.APPLICATION_JSON)
-                .body(BodyInserters.fromFormData(formData))
-                .retrieve()
-                .bodyToMono(LinkedInTokenResponseDto.class)
-                .timeout(Duration.ofSeconds(30))
+        return resilience.nonIdempotent("token", oauthWebClient.post()
+                        .uri(linkedInConfig.getTokenUri())
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .body(BodyInserters.fromFormData(formData))
+                        .retrieve()
+                        .bodyToMono(LinkedInTokenResponseDto.class))
                 .doOnError(error -> logger.error("Error refreshing access token: ", error))
                 .onErrorMap(WebClientResponseException.class, ex -> {
                     logger.error("LinkedIn refresh token error: {}", ex.getResponseBodyAsString());
@@ -89,15 +98,17 @@ public class LinkedInConnectorService {
         String profileUrl = linkedInConfig.getApiBaseUrl() +
             "/me";
 
-        return webClient.get()
-                .uri(profileUrl)
-                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
-                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .retrieve()
-                .bodyToMono(LinkedInProfileDto.class)
-                .timeout(Duration.ofSeconds(30))
+        return resilience.idempotent("profile", webClient.get()
+                        .uri(profileUrl)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .retrieve()
+                        .bodyToMono(LinkedInProfileDto.class))
                 .doOnError(error -> logger.error("Error fetching user profile: ", error))
                 .onErrorMap(WebClientResponseException.class, ex -> {
+                    if (ex.getStatusCode().value() == 401) {
+                        return new LinkedInTokenExpiredException("LinkedIn rejected the access token");
+                    }
                     logger.error("LinkedIn profile API error: {}", ex.getResponseBodyAsString());
                     return new RuntimeException("Failed to fetch user profile: " + ex.getMessage());
                 });
@@ -107,19 +118,69 @@ public class LinkedInConnectorService {
         String networkInfoUrl = linkedInConfig.getApiBaseUrl() +
             "/userinfo";
 
-        return webClient.get()
-                .uri(networkInfoUrl)
-                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
-                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .retrieve()
-                .bodyToMono(LinkedInStatsDto.class)
-                .timeout(Duration.ofSeconds(30))
+        return resilience.idempotent("userinfo", webClient.get()
+                        .uri(networkInfoUrl)
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .retrieve()
+                        .bodyToMono(LinkedInStatsDto.class))
                 .doOnError(error -> logger.error("Error fetching user stats: ", error))
                 .onErrorMap(WebClientResponseException.class, ex -> {
+                    if (ex.getStatusCode().value() == 401) {
+                        return new LinkedInTokenExpiredException("LinkedIn rejected the access token");
+                    }
                     logger.error("LinkedIn stats API error: {}", ex.getResponseBodyAsString());
                     return new RuntimeException("Failed to fetch user stats: " + ex.getMessage());
+                });
+    }
+
+    /**
+     * Shares a text post on the member's feed through the UGC Posts API. The author URN is
+     * resolved from the OpenID {@code sub} of the token owner.
+     *
+     * @return the id LinkedIn assigned to the new post
+     */
+    public Mono<String> publishPost(String accessToken, String text) {
+        return resilience.idempotent("userinfo", webClient.get()
+                        .uri(linkedInConfig.getApiBaseUrl() + "/userinfo")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                        .retrieve()
+                        .bodyToMono(JsonNode.class))
+                .map(userInfo -> userInfo.path("sub").asText())
+                .filter(memberId -> !memberId.isEmpty())
+                .switchIfEmpty(Mono.error(new RuntimeException("LinkedIn member id not available for token")))
+                // a repeated share would post twice
+                .flatMap(memberId -> resilience.nonIdempotent("share", webClient.post()
+                        .uri(linkedInConfig.getApiBaseUrl() + "/ugcPosts")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                        .header("X-Restli-Protocol-Version", "2.0.0")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .bodyValue(buildSharePayload("urn:li:person:" + memberId, text))
+                        .retrieve()
+                        .toEntity(String.class)))
+                .map(response -> {
+                    String postId = response.getHeaders().getFirst("X-RestLi-Id");
+                    return postId != null ? postId : "";
                 })
-                .onErrorReturn(new LinkedInStatsDto());
+                .doOnError(error -> logger.error("Error publishing LinkedIn post: ", error))
+                .onErrorMap(WebClientResponseException.class, ex -> {
+                    if (ex.getStatusCode().value() == 401) {
+                        return new LinkedInTokenExpiredException("LinkedIn rejected the access token");
+                    }
+                    logger.error("LinkedIn share API error: {}", ex.getResponseBodyAsString());
+                    return new RuntimeException("Failed to publish LinkedIn post: " + ex.getStatusCode());
+                });
+    }
+
+    private Map<String, Object> buildSharePayload(String authorUrn, String text) {
+        return Map.of(
+                "author", authorUrn,
+                "lifecycleState", "PUBLISHED",
+                "specificContent", Map.of(
+                        "com.linkedin.ugc.ShareContent", Map.of(
+                                "shareCommentary", Map.of("text", text),
+                                "shareMediaCategory", "NONE")),
+                "visibility", Map.of("com.linkedin.ugc.MemberNetworkVisibility", "PUBLIC"));
     }
 
     private String extractEmailFromResponse(String response) {
@@ -136,23 +197,4 @@ public class LinkedInConnectorService {
         }
         return null;
     }
-
-    public boolean validateAccessToken(String accessToken) {
-        try {
-            String validationUrl = linkedInConfig.getApiBaseUrl() + "/people/~:(id)";
-
-            String response = webClient.get()
-                    .uri(validationUrl)
-                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .timeout(Duration.ofSeconds(10))
-                    .block();
-
-            return response != null && response.contains("id");
-        } catch (Exception e) {
-            logger.debug("Access token validation failed: {}", e.getMessage());
-            return false;
-        }
-    }
 }
\ No newline at end of file
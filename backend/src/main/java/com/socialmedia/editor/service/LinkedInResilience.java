@@ -0,0 +1,210 @@
+package com.socialmedia.editor.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Timeouts, retries and circuit breaking for calls to LinkedIn.
+ * <p>
+ * Every attempt gets {@code linkedin.resilience.attempt-timeout}. Idempotent calls are retried on
+ * 5xx, timeouts and I/O errors; other calls only when LinkedIn cannot have processed them (429 or
+ * a refused connection). Retries wait for {@code Retry-After} when LinkedIn sends one, otherwise
+ * for an exponential backoff with full jitter; a {@code Retry-After} longer than
+ * {@code max-retry-after} fails the call instead of holding the caller.
+ * <p>
+ * Each endpoint has its own {@link CircuitBreaker}. Server errors, timeouts and I/O errors count as
+ * failures; 4xx answers (including 401 and 429) show LinkedIn is up and do not. While a circuit is
+ * open calls fail immediately with {@link LinkedInUnavailableException}.
+ */
+@Component
+public class LinkedInResilience {
+
+    private static final Logger logger = LoggerFactory.getLogger(LinkedInResilience.class);
+
+    private final MeterRegistry meterRegistry;
+
+    private final Duration attemptTimeout;
+
+    private final int maxRetries;
+
+    private final Duration initialBackoff;
+
+    private final Duration maxBackoff;
+
+    private final Duration maxRetryAfter;
+
+    private final int failureThreshold;
+
+    private final Duration openDuration;
+
+    private final ConcurrentMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    public LinkedInResilience(MeterRegistry meterRegistry,
+                              @Value("${linkedin.resilience.attempt-timeout:10s}") Duration attemptTimeout,
+                              @Value("${linkedin.resilience.max-retries:3}") int maxRetries,
+                              @Value("${linkedin.resilience.initial-backoff:200ms}") Duration initialBackoff,
+                              @Value("${linkedin.resilience.max-backoff:5s}") Duration maxBackoff,
+                              @Value("${linkedin.resilience.max-retry-after:30s}") Duration maxRetryAfter,
+                              @Value("${linkedin.resilience.failure-threshold:5}") int failureThreshold,
+                              @Value("${linkedin.resilience.open-duration:30s}") Duration openDuration) {
+        this.meterRegistry = meterRegistry;
+        this.attemptTimeout = attemptTimeout;
+        this.maxRetries = maxRetries;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.maxRetryAfter = maxRetryAfter;
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+    }
+
+    /**
+     * Decorates a call that may safely be repeated, e.g. a GET.
+     */
+    public <T> Mono<T> idempotent(String endpoint, Mono<T> call) {
+        return decorate(endpoint, call, true);
+    }
+
+    /**
+     * Decorates a call that must not run twice, e.g. redeeming a one-time authorization code.
+     */
+    public <T> Mono<T> nonIdempotent(String endpoint, Mono<T> call) {
+        return decorate(endpoint, call, false);
+    }
+
+    public CircuitBreaker.State getState(String endpoint) {
+        return breaker(endpoint).getState();
+    }
+
+    private <T> Mono<T> decorate(String endpoint, Mono<T> call, boolean idempotent) {
+        CircuitBreaker breaker = breaker(endpoint);
+        Mono<T> attempt = Mono.defer(() -> {
+            if (!breaker.tryAcquirePermission()) {
+                meterRegistry.counter("linkedin.circuit.rejected", "endpoint", endpoint).increment();
+                return Mono.error(new LinkedInUnavailableException(
+                        "LinkedIn " + endpoint + " is unavailable, please try again later"));
+            }
+            return call
+                    .timeout(attemptTimeout)
+                    .doOnSuccess(result -> breaker.onSuccess())
+                    .doOnError(error -> {
+                        if (isUpstreamFailure(error)) {
+                            breaker.onFailure();
+                        } else {
+                            breaker.onSuccess();
+                        }
+                    })
+                    .doOnCancel(breaker::release);
+        });
+
+        return attempt.retryWhen(Retry.from(signals -> signals.concatMap(signal -> {
+            Throwable failure = signal.failure();
+            long retry = signal.totalRetries();
+            if (retry >= maxRetries || !isRetryable(failure, idempotent)) {
+                return Mono.error(failure);
+            }
+            Duration delay = retryAfter(failure);
+            if (delay == null) {
+                delay = backoff(retry);
+            } else if (delay.compareTo(maxRetryAfter) > 0) {
+                return Mono.error(failure);
+            }
+            logger.debug("Retrying LinkedIn {} in {} ms after {}", endpoint, delay.toMillis(), failure.toString());
+            meterRegistry.counter("linkedin.retries", "endpoint", endpoint, "reason", reason(failure)).increment();
+            return Mono.delay(delay).thenReturn(retry);
+        })));
+    }
+
+    private CircuitBreaker breaker(String endpoint) {
+        return breakers.computeIfAbsent(endpoint, name -> {
+            CircuitBreaker breaker = new CircuitBreaker(failureThreshold, openDuration);
+            Gauge.builder("linkedin.circuit.state", breaker, b -> b.getState().ordinal())
+                    .description("0 = closed, 1 = half-open, 2 = open")
+                    .tag("endpoint", name)
+                    .register(meterRegistry);
+            return breaker;
+        });
+    }
+
+    private boolean isUpstreamFailure(Throwable error) {
+        if (error instanceof WebClientResponseException) {
+            return ((WebClientResponseException) error).getStatusCode().is5xxServerError();
+        }
+        return error instanceof WebClientRequestException || error instanceof TimeoutException;
+    }
+
+    private boolean isRetryable(Throwable error, boolean idempotent) {
+        if (error instanceof WebClientResponseException) {
+            int status = ((WebClientResponseException) error).getStatusCode().value();
+            if (status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+                return true;
+            }
+            return idempotent && status >= 500 && status != HttpStatus.NOT_IMPLEMENTED.value();
+        }
+        if (error instanceof WebClientRequestException) {
+            return idempotent || error.getCause() instanceof ConnectException;
+        }
+        return idempotent && error instanceof TimeoutException;
+    }
+
+    private Duration backoff(long retry) {
+        long ceiling = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(retry, 20));
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+
+    /**
+     * @return the delay requested by a 429 or 503 answer, or null if there is none
+     */
+    private Duration retryAfter(Throwable error) {
+        if (!(error instanceof WebClientResponseException)) {
+            return null;
+        }
+        WebClientResponseException response = (WebClientResponseException) error;
+        int status = response.getStatusCode().value();
+        if (status != HttpStatus.TOO_MANY_REQUESTS.value() && status != HttpStatus.SERVICE_UNAVAILABLE.value()) {
+            return null;
+        }
+        String value = response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return Duration.ofSeconds(Math.max(0, Long.parseLong(value.trim())));
+        } catch (NumberFormatException e) {
+            // not delta-seconds, so it should be an HTTP date
+        }
+        try {
+            Duration until = Duration.between(ZonedDateTime.now(),
+                    ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME));
+            return until.isNegative() ? Duration.ZERO : until;
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private String reason(Throwable error) {
+        if (error instanceof WebClientResponseException) {
+            return String.valueOf(((WebClientResponseException) error).getStatusCode().value());
+        }
+        return error instanceof TimeoutException ? "timeout" : "io";
+    }
+}
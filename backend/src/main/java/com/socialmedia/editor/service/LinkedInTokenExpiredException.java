@@ -0,0 +1,14 @@
+package com.socialmedia.editor.service;
+
+/**
+ * Thrown when LinkedIn answers 401 for an access token, i.e. the token expired or was revoked
+ * and has to be refreshed before the call can succeed.
+ */
+public class LinkedInTokenExpiredException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public LinkedInTokenExpiredException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,156 @@
+package com.socialmedia.editor.service;
+
+import com.socialmedia.editor.model.SocialMediaAccount;
+import com.socialmedia.editor.repository.SocialMediaAccountRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Renews LinkedIn access tokens that expire within {@code linkedin.token-refresh.refresh-ahead},
+ * so that stats refreshes and publishing never run into an expired token in the first place.
+ * <p>
+ * Accounts are split across nodes by the same shard leases as the stats sweep (see
+ * {@link RefreshLeaseService}), so each token is renewed by one node only. Like the sweep, each
+ * tick only renews the leases on Spring's shared scheduler thread and, once the previous batch
+ * has finished, hands up to {@code batch-size} renewals to the refresher's own
+ * {@code linkedin.token-refresh.workers}. The leases taken here last
+ * {@code linkedin.token-refresh.lease-duration}, which must exceed the refresh interval so a node
+ * keeps its shards between ticks when the stats sweep is disabled.
+ */
+@Service
+@ConditionalOnProperty(prefix = "linkedin.token-refresh", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class LinkedInTokenRefresher {
+
+    private static final Logger logger = LoggerFactory.getLogger(LinkedInTokenRefresher.class);
+
+    private final LinkedInTokenService linkedInTokenService;
+
+    private final SocialMediaAccountRepository socialMediaAccountRepository;
+
+    private final RefreshLeaseService refreshLeaseService;
+
+    private final Duration refreshAhead;
+
+    private final int shardCount;
+
+    private final Duration leaseDuration;
+
+    private final int batchSize;
+
+    private final ExecutorService workers;
+
+    private volatile List<Integer> ownedShards = List.of();
+
+    private volatile CompletableFuture<Void> batch = CompletableFuture.completedFuture(null);
+
+    private final Counter refreshed;
+
+    private final Counter failed;
+
+    public LinkedInTokenRefresher(LinkedInTokenService linkedInTokenService,
+                                  SocialMediaAccountRepository socialMediaAccountRepository,
+                                  RefreshLeaseService refreshLeaseService,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${linkedin.token-refresh.refresh-ahead:3d}") Duration refreshAhead,
+                                  @Value("${stats-refresh.shards:16}") int shardCount,
+                                  @Value("${linkedin.token-refresh.lease-duration:20m}") Duration leaseDuration,
+                                  @Value("${linkedin.token-refresh.batch-size:200}") int batchSize,
+                                  @Value("${linkedin.token-refresh.workers:2}") int workerCount) {
+        this.linkedInTokenService = linkedInTokenService;
+        this.socialMediaAccountRepository = socialMediaAccountRepository;
+        this.refreshLeaseService = refreshLeaseService;
+        this.refreshAhead = refreshAhead;
+        this.shardCount = shardCount;
+        this.leaseDuration = leaseDuration;
+        this.batchSize = batchSize;
+        this.workers = Executors.newFixedThreadPool(workerCount, new CustomizableThreadFactory("token-refresher-"));
+        this.refreshed = Counter.builder("linkedin.token.refresh.proactive")
+                .tag("outcome", "refreshed")
+                .register(meterRegistry);
+        this.failed = Counter.builder("linkedin.token.refresh.proactive")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            refreshLeaseService.ensureShards(shardCount);
+        } catch (DataIntegrityViolationException e) {
+            // another node, or the stats sweep, created the shard rows at the same time
+            logger.debug("Refresh lease shards already initialised");
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdownNow();
+        try {
+            refreshLeaseService.releaseAll(refreshLeaseService.getNodeId(), ownedShards);
+        } catch (Exception e) {
+            logger.warn("Failed to release refresh leases on shutdown", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${linkedin.token-refresh.interval:900000}",
+            initialDelayString = "${linkedin.token-refresh.interval:900000}")
+    public void refreshExpiringTokens() {
+        try {
+            ownedShards = refreshLeaseService.rebalance(refreshLeaseService.getNodeId(), shardCount, leaseDuration);
+            if (!batch.isDone()) {
+                logger.debug("Previous token refresh batch still running, only renewed leases on {}", ownedShards);
+                return;
+            }
+            batch = startBatch();
+        } catch (Exception e) {
+            logger.error("Proactive LinkedIn token refresh failed", e);
+        }
+    }
+
+    private CompletableFuture<Void> startBatch() {
+        List<Integer> shards = ownedShards;
+        if (shards.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<SocialMediaAccount> expiring = socialMediaAccountRepository.findRefreshableTokensExpiringInShards(
+                SocialMediaAccount.Platform.LINKEDIN, shardCount, shards, now.plus(refreshAhead), now,
+                PageRequest.of(0, batchSize));
+
+        List<CompletableFuture<Void>> refreshes = new ArrayList<>();
+        for (SocialMediaAccount account : expiring) {
+            refreshes.add(CompletableFuture.runAsync(() -> refresh(account), workers));
+        }
+        return CompletableFuture.allOf(refreshes.toArray(new CompletableFuture<?>[0]));
+    }
+
+    private void refresh(SocialMediaAccount account) {
+        try {
+            linkedInTokenService.refreshAccessToken(account).block();
+            refreshed.increment();
+        } catch (Exception e) {
+            logger.warn("Proactive LinkedIn token refresh failed for account {}: {}", account.getId(), e.getMessage());
+            failed.increment();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.socialmedia.editor.service;
+
+import com.socialmedia.editor.dto.LinkedInTokenResponseDto;
+import com.socialmedia.editor.model.SocialMediaAccount;
+import com.socialmedia.editor.repository.SocialMediaAccountRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Owns the LinkedIn token lifecycle of connected accounts. Token expiry is stored on the account
+ * so {@link LinkedInTokenRefresher} can renew tokens before they lapse; calls made with a token
+ * that was rejected anyway are retried once after a refresh.
+ */
+@Service
+public class LinkedInTokenService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LinkedInTokenService.class);
+
+    @Autowired
+    private LinkedInConnectorService linkedInConnectorService;
+
+    @Autowired
+    private SocialMediaAccountRepository socialMediaAccountRepository;
+
+    // accountId -> refresh currently talking to LinkedIn
+    private final ConcurrentMap<Long, Mono<SocialMediaAccount>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter refreshes;
+
+    private final Counter coalesced;
+
+    public LinkedInTokenService(MeterRegistry meterRegistry) {
+        this.refreshes = Counter.builder("linkedin.token.refresh")
+                .tag("result", "exchanged")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("linkedin.token.refresh")
+                .tag("result", "coalesced")
+                .description("Refresh requests that joined a refresh already in flight for the same account")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code call} with the account's access token. If LinkedIn rejects the token, it is
+     * refreshed and the call is retried exactly once.
+     */
+    public <T> Mono<T> withAccessToken(SocialMediaAccount account, Function<String, Mono<T>> call) {
+        if (account.getAccessToken() == null) {
+            return Mono.error(new RuntimeException("No access token for LinkedIn account"));
+        }
+        return Mono.defer(() -> call.apply(account.getAccessToken()))
+                .onErrorResume(LinkedInTokenExpiredException.class, e -> {
+                    logger.info("LinkedIn access token rejected, refreshing for account: {}", account.getId());
+                    return refreshAccessToken(account).flatMap(call);
+                });
+    }
+
+    /**
+     * Exchanges the account's refresh token for a new access token and stores the result.
+     * Concurrent refreshes of the same account share one exchange with LinkedIn: only one refresh
+     * token is spent, and every caller gets the same new token.
+     *
+     * @return the new access token
+     */
+    public Mono<String> refreshAccessToken(SocialMediaAccount account) {
+        if (account.getRefreshToken() == null) {
+            return Mono.error(new RuntimeException("LinkedIn access token expired and no refresh token is available"));
+        }
+        return Mono.defer(() -> {
+            boolean[] leader = {false};
+            Mono<SocialMediaAccount> refresh = inFlight.computeIfAbsent(account.getId(), accountId -> {
+                leader[0] = true;
+                return exchangeRefreshToken(account)
+                        .doFinally(signal -> inFlight.remove(accountId))
+                        .cache();
+            });
+            (leader[0] ? refreshes : coalesced).increment();
+            return refresh.map(refreshed -> {
+                // followers hold their own copy of the account; keep it in step so a later save
+                // does not write the spent tokens back
+                if (refreshed != account) {
+                    copyTokens(refreshed, account);
+                }
+                return account.getAccessToken();
+            });
+        });
+    }
+
+    private Mono<SocialMediaAccount> exchangeRefreshToken(SocialMediaAccount account) {
+        return linkedInConnectorService.refreshAccessToken(account.getRefreshToken())
+                .filter(response -> response.getAccessToken() != null)
+                .switchIfEmpty(Mono.error(new RuntimeException("LinkedIn token refresh returned no access token")))
+                // saving is blocking JDBC, keep it off the Netty event loop
+                .publishOn(Schedulers.boundedElastic())
+                .map(response -> {
+                    storeTokens(account, response);
+                    logger.info("Successfully refreshed LinkedIn token for account: {}", account.getId());
+                    return account;
+                });
+    }
+
+    private void copyTokens(SocialMediaAccount from, SocialMediaAccount to) {
+        to.setAccessToken(from.getAccessToken());
+        to.setAccessTokenExpiresAt(from.getAccessTokenExpiresAt());
+        to.setRefreshToken(from.getRefreshToken());
+        to.setRefreshTokenExpiresAt(from.getRefreshTokenExpiresAt());
+    }
+
+    public SocialMediaAccount storeTokens(SocialMediaAccount account, LinkedInTokenResponseDto tokenResponse) {
+        LocalDateTime now = LocalDateTime.now();
+        account.setAccessToken(tokenResponse.getAccessToken());
+        if (tokenResponse.getExpiresIn() != null) {
+            account.setAccessTokenExpiresAt(now.plusSeconds(tokenResponse.getExpiresIn()));
+        }
+        if (tokenResponse.getRefreshToken() != null) {
+            account.setRefreshToken(tokenResponse.getRefreshToken());
+            if (tokenResponse.getRefreshTokenExpiresIn() != null) {
+                account.setRefreshTokenExpiresAt(now.plusSeconds(tokenResponse.getRefreshTokenExpiresIn()));
+            }
+        }
+        return socialMediaAccountRepository.save(account);
+    }
+}
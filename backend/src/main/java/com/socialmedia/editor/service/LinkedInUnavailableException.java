@@ -0,0 +1,14 @@
+package com.socialmedia.editor.service;
+
+/**
+ * Thrown without calling LinkedIn while the circuit for an endpoint is open, i.e. recent calls to
+ * it kept failing and it is given time to recover.
+ */
+public class LinkedInUnavailableException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public LinkedInUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,77 @@
+package com.socialmedia.editor.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Login throttling keyed by client IP and by username. Both checks are in-memory token
+ * buckets, so rejected attempts never reach the users table or BCrypt.
+ */
+@Service
+public class LoginRateLimiter {
+
+    private final TokenBucketRateLimiter ipLimiter;
+
+    private final TokenBucketRateLimiter usernameLimiter;
+
+    private final Counter ipRejections;
+
+    private final Counter usernameRejections;
+
+    public LoginRateLimiter(MeterRegistry meterRegistry,
+                            @Value("${auth.login-rate-limit.per-ip.capacity:20}") int ipCapacity,
+                            @Value("${auth.login-rate-limit.per-ip.refill-period:1m}") Duration ipRefillPeriod,
+                            @Value("${auth.login-rate-limit.per-user.capacity:5}") int userCapacity,
+                            @Value("${auth.login-rate-limit.per-user.refill-period:1m}") Duration userRefillPeriod) {
+        this.ipLimiter = new TokenBucketRateLimiter(ipCapacity, ipRefillPeriod);
+        this.usernameLimiter = new TokenBucketRateLimiter(userCapacity, userRefillPeriod);
+
+        this.ipRejections = Counter.builder("auth.login.rate-limited")
+                .tag("key", "ip")
+                .register(meterRegistry);
+        this.usernameRejections = Counter.builder("auth.login.rate-limited")
+                .tag("key", "username")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.rate-limit.buckets", ipLimiter, TokenBucketRateLimiter::size)
+                .tag("key", "ip")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.rate-limit.buckets", usernameLimiter, TokenBucketRateLimiter::size)
+                .tag("key", "username")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return 0 if the attempt may proceed, otherwise the wait in nanoseconds before retrying
+     */
+    public long checkClientIp(String clientIp) {
+        long wait = ipLimiter.tryAcquire(clientIp);
+        if (wait > 0) {
+            ipRejections.increment();
+        }
+        return wait;
+    }
+
+    /**
+     * @return 0 if the attempt may proceed, otherwise the wait in nanoseconds before retrying
+     */
+    public long checkUsername(String username) {
+        long wait = usernameLimiter.tryAcquire(username.trim().toLowerCase(Locale.ROOT));
+        if (wait > 0) {
+            usernameRejections.increment();
+        }
+        return wait;
+    }
+
+    @Scheduled(fixedDelayString = "${auth.login-rate-limit.eviction-interval:60000}")
+    public void evictIdleBuckets() {
+        ipLimiter.evictIdle();
+        usernameLimiter.evictIdle();
+    }
+}
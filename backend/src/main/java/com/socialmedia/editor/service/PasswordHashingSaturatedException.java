@@ -0,0 +1,14 @@
+package com.socialmedia.editor.service;
+
+/**
+ * Thrown when the password hashing pool and its queue are full and a login or
+ * registration has to be turned away instead of waiting on a servlet thread.
+ */
+public class PasswordHashingSaturatedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PasswordHashingSaturatedException(String message) {
+        super(message);
+    }
+}
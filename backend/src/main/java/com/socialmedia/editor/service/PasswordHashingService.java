@@ -0,0 +1,152 @@
+package com.socialmedia.editor.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+
+/**
+ * Runs BCrypt on a dedicated, size-limited pool with a bounded queue so that a burst of
+ * logins cannot occupy every servlet thread. When the queue is full the call fails fast
+ * with {@link PasswordHashingSaturatedException}, and so does a call whose hash has not
+ * finished within {@code auth.password-hashing.wait-timeout}.
+ * <p>
+ * Unless {@code auth.password-hashing.strength} is set, the BCrypt cost factor is calibrated
+ * at startup to the smallest strength (never below the Spring default of 10) whose hash time
+ * reaches {@code auth.password-hashing.target-hash-time}. Existing hashes keep verifying with
+ * the cost embedded in them.
+ */
+@Service
+public class PasswordHashingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    private static final int MIN_STRENGTH = 10;
+
+    private static final int MAX_STRENGTH = 16;
+
+    private final ThreadPoolExecutor executor;
+
+    private final BCryptPasswordEncoder passwordEncoder;
+
+    private final int strength;
+
+    private final Duration waitTimeout;
+
+    private final Timer encodeTimer;
+
+    private final Timer matchesTimer;
+
+    private final Timer queueWaitTimer;
+
+    private final Counter rejectedCounter;
+
+    public PasswordHashingService(MeterRegistry meterRegistry,
+                                  @Value("${auth.password-hashing.pool-size:0}") int poolSize,
+                                  @Value("${auth.password-hashing.queue-capacity:64}") int queueCapacity,
+                                  @Value("${auth.password-hashing.strength:0}") int strength,
+                                  @Value("${auth.password-hashing.target-hash-time:250ms}") Duration targetHashTime,
+                                  @Value("${auth.password-hashing.wait-timeout:5s}") Duration waitTimeout) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("bcrypt-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.strength = strength > 0 ? strength : calibrateStrength(targetHashTime);
+        this.passwordEncoder = new BCryptPasswordEncoder(this.strength);
+        this.waitTimeout = waitTimeout;
+        logger.info("Password hashing uses BCrypt strength {} on {} threads (queue capacity {})",
+                this.strength, threads, queueCapacity);
+
+        this.encodeTimer = Timer.builder("auth.password.hash")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.password.hash")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("auth.password.hash.queue.wait")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("auth.password.hash.rejected")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.queue.depth", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.strength", () -> this.strength)
+                .register(meterRegistry);
+    }
+
+    public String encode(String rawPassword) {
+        return execute(encodeTimer, () -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return execute(matchesTimer, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T execute(Timer timer, Callable<T> hashing) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                queueWaitTimer.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                return timer.recordCallable(hashing);
+            });
+        } catch (RejectedExecutionException e) {
+            rejectedCounter.increment();
+            throw new PasswordHashingSaturatedException("Password hashing capacity exhausted");
+        }
+
+        try {
+            return future.get(waitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejectedCounter.increment();
+            throw new PasswordHashingSaturatedException("Password hashing did not finish in time");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static int calibrateStrength(Duration targetHashTime) {
+        long target = targetHashTime.toNanos();
+        int candidate = MIN_STRENGTH;
+        timeHash(candidate); // warm up the JIT before measuring
+        long elapsed = timeHash(candidate);
+        // Each extra BCrypt round doubles the cost
+        while (candidate < MAX_STRENGTH && elapsed * 2 <= target) {
+            candidate++;
+            elapsed = timeHash(candidate);
+        }
+        return candidate;
+    }
+
+    private static long timeHash(int candidate) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(candidate);
+        long start = System.nanoTime();
+        encoder.encode("calibration-password");
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,135 @@
+package com.socialmedia.editor.service;
+
+import com.socialmedia.editor.connector.ConnectorTimeoutException;
+import com.socialmedia.editor.connector.PlatformConnectorRegistry;
+import com.socialmedia.editor.model.Post;
+import com.socialmedia.editor.model.PostPlatform;
+import com.socialmedia.editor.model.SocialMediaAccount;
+import com.socialmedia.editor.repository.SocialMediaAccountRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes a post to every platform it is enabled for, concurrently.
+ * <p>
+ * Deliveries go through {@link PlatformConnectorRegistry}, whose per-connector bulkheads and
+ * timeouts keep a slow or unreachable network from delaying delivery to the others. Every
+ * platform's outcome is recorded on its {@link PostPlatform} row independently, on the fan-out's
+ * own {@code publishing.fan-out.recorders} threads rather than whichever thread completed the
+ * call. A platform that does not answer within its connector timeout is marked UNKNOWN, not
+ * FAILED: its connector may still be posting, and a retry could publish the post twice.
+ */
+@Service
+public class PlatformFanOutService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlatformFanOutService.class);
+
+    private final PostPlatformService postPlatformService;
+
+    private final SocialMediaAccountRepository socialMediaAccountRepository;
+
+    private final PlatformConnectorRegistry platformConnectorRegistry;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ExecutorService recorders;
+
+    public PlatformFanOutService(PostPlatformService postPlatformService,
+                                 SocialMediaAccountRepository socialMediaAccountRepository,
+                                 PlatformConnectorRegistry platformConnectorRegistry,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${publishing.fan-out.recorders:2}") int recorderCount) {
+        this.postPlatformService = postPlatformService;
+        this.socialMediaAccountRepository = socialMediaAccountRepository;
+        this.platformConnectorRegistry = platformConnectorRegistry;
+        this.meterRegistry = meterRegistry;
+        this.recorders = Executors.newFixedThreadPool(recorderCount, new CustomizableThreadFactory("fan-out-recorder-"));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        recorders.shutdown();
+    }
+
+    /**
+     * Starts publishing the post to all of its enabled platforms that have not been published yet,
+     * skipping those whose earlier outcome is unknown. The returned future completes once every
+     * platform's outcome has been recorded; it never completes exceptionally.
+     */
+    public CompletableFuture<Void> publishToPlatforms(Post post) {
+        List<PostPlatform> targets = postPlatformService.getEnabledPostPlatforms(post);
+        if (targets.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        Map<SocialMediaAccount.Platform, SocialMediaAccount> accounts = new EnumMap<>(SocialMediaAccount.Platform.class);
+        for (SocialMediaAccount account : socialMediaAccountRepository.findByUserIdAndIsActiveTrue(post.getUser().getId())) {
+            accounts.putIfAbsent(account.getPlatform(), account);
+        }
+
+        List<CompletableFuture<Void>> deliveries = new ArrayList<>();
+        for (PostPlatform target : targets) {
+            if (target.getPublishStatus() == PostPlatform.PublishStatus.PUBLISHED
+                    || target.getPublishStatus() == PostPlatform.PublishStatus.UNKNOWN) {
+                continue;
+            }
+            SocialMediaAccount.Platform platform = target.getPlatform();
+            deliveries.add(deliver(post, platform, accounts.get(platform)));
+        }
+        return CompletableFuture.allOf(deliveries.toArray(new CompletableFuture<?>[0]));
+    }
+
+    private CompletableFuture<Void> deliver(Post post, SocialMediaAccount.Platform platform, SocialMediaAccount account) {
+        long start = System.nanoTime();
+        CompletableFuture<Void> delivery;
+        if (account == null) {
+            delivery = CompletableFuture.failedFuture(
+                    new RuntimeException("No active " + platform + " account connected"));
+        } else {
+            delivery = platformConnectorRegistry.publish(account, post.getContent()).thenApply(postId -> null);
+        }
+        return delivery.handleAsync((ignored, error) -> {
+            record(post, platform, error, System.nanoTime() - start);
+            return null;
+        }, recorders);
+    }
+
+    private void record(Post post, SocialMediaAccount.Platform platform, Throwable error, long elapsedNanos) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        String outcome = cause == null ? "published" : cause instanceof ConnectorTimeoutException ? "unknown" : "failed";
+        Timer.builder("posts.platform.publish")
+                .tag("platform", platform.name().toLowerCase())
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        try {
+            if (cause == null) {
+                postPlatformService.markAsPublished(post, platform);
+            } else if (cause instanceof ConnectorTimeoutException) {
+                logger.warn("Publishing post {} to {} timed out, outcome unknown", post.getId(), platform);
+                postPlatformService.markAsUnknown(post, platform);
+            } else {
+                logger.warn("Publishing post {} to {} failed: {}", post.getId(), platform, cause.toString());
+                postPlatformService.markAsFailed(post, platform);
+            }
+        } catch (Exception e) {
+            logger.error("Failed to record {} outcome for post {}", platform, post.getId(), e);
+        }
+    }
+}
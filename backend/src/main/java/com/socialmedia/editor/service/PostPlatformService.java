@@ -85,4 +85,24 @@ public class PostPlatformService {
         }
         throw new RuntimeException("Post platform configuration not found");
     }
-}
\ No newline at end of file
+
+    public PostPlatform markAsFailed(Post post, SocialMediaAccount.Platform platform) {
+        Optional<PostPlatform> postPlatformOpt = postPlatformRepository.findByPostAndPlatform(post, platform);
+        if (postPlatformOpt.isPresent()) {
+            PostPlatform postPlatform = postPlatformOpt.get();
+            postPlatform.setPublishStatus(PostPlatform.PublishStatus.FAILED);
+            return postPlatformRepository.save(postPlatform);
+        }
+        throw new RuntimeException("Post platform configuration not found");
+    }
+
+    public PostPlatform markAsUnknown(Post post, SocialMediaAccount.Platform platform) {
+        Optional<PostPlatform> postPlatformOpt = postPlatformRepository.findByPostAndPlatform(post, platform);
+        if (postPlatformOpt.isPresent()) {
+            PostPlatform postPlatform = postPlatformOpt.get();
+            postPlatform.setPublishStatus(PostPlatform.PublishStatus.UNKNOWN);
+            return postPlatformRepository.save(postPlatform);
+        }
+        throw new RuntimeException("Post platform configuration not found");
+    }
+}
@@ -1,11 +1,19 @@
 package com.socialmedia.editor.service;
 
+import com.socialmedia.editor.dto.CursorPage;
+import com.socialmedia.editor.dto.DashboardStatsDto;
+import com.socialmedia.editor.dto.PostSummaryDto;
+import com.socialmedia.editor.event.PostChangedEvent;
+import com.socialmedia.editor.event.PostScheduledEvent;
 import com.socialmedia.editor.model.Post;
 import com.socialmedia.editor.model.SocialMediaAccount;
 import com.socialmedia.editor.model.User;
 import com.socialmedia.editor.repository.PostRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -18,23 +26,75 @@ public class PostService {
     @Autowired
     private PostRepository postRepository;
 
-    public List<Post> getPostsByUser(User user) {
-        return postRepository.findByUserOrderByCreatedAtDesc(user);
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PlatformFanOutService platformFanOutService;
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    public CursorPage<PostSummaryDto> getPostsByUser(User user, String cursor, int size) {
+        int pageSize = clampPageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<PostSummaryDto> posts;
+        if (cursor == null || cursor.isEmpty()) {
+            posts = postRepository.findFirstPageByUser(user, limit);
+        } else {
+            PostCursor position = PostCursor.decode(cursor);
+            posts = postRepository.findPageByUserAfter(user, position.getCreatedAt(), position.getId(), limit);
+        }
+        return toPage(posts, pageSize);
+    }
+
+    public CursorPage<PostSummaryDto> getDraftPostsByUser(User user, String cursor, int size) {
+        return getPostsByUserAndStatus(user, Post.PostStatus.DRAFT, cursor, size);
+    }
+
+    public CursorPage<PostSummaryDto> getPublishedPostsByUser(User user, String cursor, int size) {
+        return getPostsByUserAndStatus(user, Post.PostStatus.PUBLISHED, cursor, size);
+    }
+
+    private CursorPage<PostSummaryDto> getPostsByUserAndStatus(User user, Post.PostStatus status, String cursor, int size) {
+        int pageSize = clampPageSize(size);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<PostSummaryDto> posts;
+        if (cursor == null || cursor.isEmpty()) {
+            posts = postRepository.findFirstPageByUserAndStatus(user, status, limit);
+        } else {
+            PostCursor position = PostCursor.decode(cursor);
+            posts = postRepository.findPageByUserAndStatusAfter(user, status, position.getCreatedAt(),
+                    position.getId(), limit);
+        }
+        return toPage(posts, pageSize);
     }
 
-    public List<Post> getDraftPostsByUser(User user) {
-        return postRepository.findByUserAndStatus(user, Post.PostStatus.DRAFT);
+    // One extra row is fetched to tell whether another page follows
+    private CursorPage<PostSummaryDto> toPage(List<PostSummaryDto> posts, int pageSize) {
+        if (posts.size() <= pageSize) {
+            return new CursorPage<>(posts, null);
+        }
+        List<PostSummaryDto> page = posts.subList(0, pageSize);
+        PostSummaryDto last = page.get(pageSize - 1);
+        return new CursorPage<>(page, new PostCursor(last.getCreatedAt(), last.getId()).encode());
     }
 
-    public List<Post> getPublishedPostsByUser(User user) {
-        return postRepository.findByUserAndStatus(user, Post.PostStatus.PUBLISHED);
+    private int clampPageSize(int size) {
+        if (size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
     }
 
     public Post createPost(User user, String content, String title, String references) {
         Post post = new Post(user, content, Post.PostStatus.DRAFT);
         post.setTitle(title);
         post.setReferences(references);
-        return postRepository.save(post);
+        Post saved = postRepository.save(post);
+        postChanged(saved);
+        return saved;
     }
 
     public Post updatePost(Long postId, String content, String title, String references, User user) {
@@ -44,7 +104,9 @@ public class PostService {
             post.setContent(content);
             post.setTitle(title);
             post.setReferences(references);
-            return postRepository.save(post);
+            Post saved = postRepository.save(post);
+            postChanged(saved);
+            return saved;
         }
         throw new RuntimeException("Post not found");
     }
@@ -66,7 +128,10 @@ public class PostService {
             }
             post.setScheduledTime(scheduledTime);
             post.setStatus(Post.PostStatus.SCHEDULED);
-            return postRepository.save(post);
+            Post saved = postRepository.save(post);
+            postChanged(saved);
+            eventPublisher.publishEvent(new PostScheduledEvent(saved.getId(), saved.getScheduledTime()));
+            return saved;
         }
         throw new RuntimeException("Post not found");
     }
@@ -80,7 +145,11 @@ public class PostService {
             }
             post.setStatus(Post.PostStatus.PUBLISHED);
             post.setPublishedAt(LocalDateTime.now());
-            return postRepository.save(post);
+            Post saved = postRepository.save(post);
+            postChanged(saved);
+            // per-platform delivery runs in the background; results land on the PostPlatform rows
+            platformFanOutService.publishToPlatforms(saved);
+            return saved;
         }
         throw new RuntimeException("Post not found");
     }
@@ -93,53 +162,65 @@ public class PostService {
                 throw new RuntimeException("Unauthorized to delete this post");
             }
             postRepository.delete(post);
+            postChanged(post);
         } else {
             throw new RuntimeException("Post not found");
         }
     }
 
-    public Long getTotalPostCountByUser(User user) {
-        return postRepository.getTotalPostCountByUser(user);
-    }
-
-    public Long getDraftPostCountByUser(User user) {
-        Long count = postRepository.getDraftPostCountByUser(user);
-        return count != null ? count : 0L;
-    }
-
-    public Long getPublishedPostCountByUser(User user) {
-        Long count = postRepository.getPublishedPostCountByUser(user);
-        return count != null ? count : 0L;
-    }
-
-    public Long getScheduledPostCountByUser(User user) {
-        Long count = postRepository.getScheduledPostCountByUser(user);
-        return count != null ? count : 0L;
+    /**
+     * All post counters shown on the dashboard, computed in a single aggregate query.
+     */
+    public DashboardStatsDto.PostStatisticsDto getPostStatisticsByUser(User user) {
+        return postRepository.getPostStatisticsByUser(user);
     }
 
-    public Long getTotalEngagementByUser(User user) {
-        Long total = postRepository.getTotalEngagementByUser(user);
-        return total != null ? total : 0L;
+    public List<Post> getScheduledPostsDueBefore(LocalDateTime dateTime) {
+        return postRepository.findByStatusAndScheduledTimeBefore(Post.PostStatus.SCHEDULED, dateTime);
     }
 
-    public Long getTotalLikesByUser(User user) {
-        Long total = postRepository.getTotalLikesByUser(user);
-        return total != null ? total : 0L;
+    /**
+     * Claims up to {@code limit} due scheduled posts for this node by moving them to PUBLISHING
+     * under a row lock. Rows locked by another node are skipped rather than waited on.
+     */
+    @Transactional
+    public List<Post> claimDueScheduledPosts(int limit) {
+        List<Post> due = postRepository.lockDueScheduledPosts(LocalDateTime.now(), limit);
+        for (Post post : due) {
+            post.setStatus(Post.PostStatus.PUBLISHING);
+            postChanged(post);
+        }
+        return due;
     }
 
-    public Long getTotalSharesByUser(User user) {
-        Long total = postRepository.getTotalSharesByUser(user);
-        return total != null ? total : 0L;
+    @Transactional
+    public int releaseStaleClaims(LocalDateTime claimedBefore) {
+        return postRepository.releaseStaleClaims(Post.PostStatus.PUBLISHING, Post.PostStatus.SCHEDULED, claimedBefore);
     }
 
-    public Long getTotalCommentsByUser(User user) {
-        Long total = postRepository.getTotalCommentsByUser(user);
-        return total != null ? total : 0L;
+    /**
+     * Moves a claimed post from PUBLISHING to PUBLISHED. Returns empty when the post is no longer
+     * PUBLISHING, e.g. its claim went stale and another node published it, or it was edited or
+     * unscheduled meanwhile; such a post must not be fanned out.
+     */
+    @Transactional
+    public Optional<Post> publishScheduledPost(Long postId) {
+        int updated = postRepository.markPublishedIfClaimed(postId, Post.PostStatus.PUBLISHING,
+                Post.PostStatus.PUBLISHED, LocalDateTime.now());
+        if (updated == 0) {
+            return Optional.empty();
+        }
+        Post post = postRepository.findById(postId)
+                .orElseThrow(() -> new RuntimeException("Post not found"));
+        postChanged(post);
+        return Optional.of(post);
     }
 
-    public List<Post> getScheduledPostsToPublish() {
-        return postRepository.findByStatusAndScheduledTimeBefore(
-                Post.PostStatus.SCHEDULED, LocalDateTime.now());
+    public void markPublishFailed(Long postId) {
+        postRepository.findById(postId).ifPresent(post -> {
+            post.setStatus(Post.PostStatus.FAILED);
+            postChanged(postRepository.save(post));
+        });
     }
 
     public Post updatePostEngagement(Long postId, Long likes, Long shares, Long comments) {
@@ -150,8 +231,14 @@ public class PostService {
             post.setSharesCount(shares);
             post.setCommentsCount(comments);
             post.setEngagementCount(likes + shares + comments);
-            return postRepository.save(post);
+            Post saved = postRepository.save(post);
+            postChanged(saved);
+            return saved;
         }
         throw new RuntimeException("Post not found");
     }
+
+    private void postChanged(Post post) {
+        eventPublisher.publishEvent(new PostChangedEvent(post.getUser().getId(), post.getId()));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,124 @@
+package com.socialmedia.editor.service;
+
+import com.socialmedia.editor.model.RefreshLease;
+import com.socialmedia.editor.repository.RefreshLeaseRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Splits background account work (the stats sweep and proactive LinkedIn token refresh) across
+ * backend nodes through leases on a fixed number of shards stored in {@code refresh_leases}. Every node aims for an even share of the shards: it
+ * renews what it holds, gives back anything above its share so newly started nodes can pick it
+ * up, and takes over free or expired shards, e.g. those of a node that stopped renewing.
+ * <p>
+ * A node holding nothing is invisible to the others, so when no shard is free it takes one over
+ * from the busiest owner; that owner then sees one more live node and sheds its surplus. The
+ * previous owner may still finish its current sweep over that shard, which only costs a few
+ * duplicate refreshes.
+ * <p>
+ * All lease holders on one node use {@link #getNodeId()}, so they split the shards with other
+ * nodes rather than with each other.
+ */
+@Service
+public class RefreshLeaseService {
+
+    @Autowired
+    private RefreshLeaseRepository refreshLeaseRepository;
+
+    @Value("${stats-refresh.node-id:}")
+    private String configuredNodeId;
+
+    private String nodeId;
+
+    @PostConstruct
+    public void init() {
+        nodeId = configuredNodeId == null || configuredNodeId.isEmpty()
+                ? ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID().toString().substring(0, 8)
+                : configuredNodeId;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Transactional
+    public void ensureShards(int shardCount) {
+        Set<Integer> existing = new HashSet<>();
+        refreshLeaseRepository.findAll().forEach(lease -> existing.add(lease.getShardId()));
+        List<RefreshLease> missing = new ArrayList<>();
+        for (int shard = 0; shard < shardCount; shard++) {
+            if (!existing.contains(shard)) {
+                missing.add(new RefreshLease(shard));
+            }
+        }
+        refreshLeaseRepository.saveAll(missing);
+    }
+
+    /**
+     * Renews, releases and acquires leases so that {@code owner} holds its fair share.
+     *
+     * @return the shards owned until the next rebalance
+     */
+    @Transactional
+    public List<Integer> rebalance(String owner, int shardCount, Duration leaseDuration) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(leaseDuration);
+
+        List<Integer> owned = new ArrayList<>(refreshLeaseRepository.findOwnedShards(owner, now));
+        long liveOwners = refreshLeaseRepository.countLiveOwners(now) + (owned.isEmpty() ? 1 : 0);
+        int fairShare = (int) ((shardCount + liveOwners - 1) / liveOwners);
+
+        if (owned.size() > fairShare) {
+            List<Integer> surplus = new ArrayList<>(owned.subList(fairShare, owned.size()));
+            refreshLeaseRepository.release(owner, surplus);
+            owned.removeAll(surplus);
+        }
+        if (!owned.isEmpty()) {
+            refreshLeaseRepository.renew(owner, owned, expiresAt);
+        }
+        if (owned.isEmpty() && refreshLeaseRepository.findAvailableShards(now).isEmpty()) {
+            for (String busiest : refreshLeaseRepository.findOwnersWithSurplus(now)) {
+                List<Integer> candidates = refreshLeaseRepository.findOwnedShards(busiest, now);
+                Integer shard = candidates.get(candidates.size() - 1);
+                if (refreshLeaseRepository.takeOver(shard, busiest, owner, expiresAt) == 1) {
+                    owned.add(shard);
+                    break;
+                }
+            }
+        }
+        if (owned.size() < fairShare) {
+            List<Integer> available = new ArrayList<>(refreshLeaseRepository.findAvailableShards(now));
+            // nodes rebalancing at the same moment should not all race for the same shards
+            Collections.shuffle(available);
+            for (Integer shard : available) {
+                if (owned.size() >= fairShare) {
+                    break;
+                }
+                if (refreshLeaseRepository.tryAcquire(shard, owner, now, expiresAt) == 1) {
+                    owned.add(shard);
+                }
+            }
+        }
+        return owned;
+    }
+
+    @Transactional
+    public void releaseAll(String owner, List<Integer> shards) {
+        if (!shards.isEmpty()) {
+            refreshLeaseRepository.release(owner, shards);
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.socialmedia.editor.service;
+
+import com.socialmedia.editor.event.PostScheduledEvent;
+import com.socialmedia.editor.model.Post;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+
+/**
+ * Publishes SCHEDULED posts when they fall due.
+ * <p>
+ * Upcoming posts (within {@code publishing.lookahead}) are kept in a {@link DelayQueue}; a single
+ * dispatcher thread sleeps until the earliest one is due and then claims every due post from the
+ * database in batches with {@code FOR UPDATE SKIP LOCKED}, so several backend nodes can run the
+ * engine without publishing a post twice. Claimed posts are published on a bounded worker pool,
+ * each worker fanning the post out to its platforms through {@link PlatformFanOutService}.
+ * Posts left in PUBLISHING by a node that died are released back to SCHEDULED after
+ * {@code publishing.stale-claim-timeout}.
+ */
+@Service
+@ConditionalOnProperty(prefix = "publishing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ScheduledPublishingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScheduledPublishingService.class);
+
+    private final PostService postService;
+
+    private final PlatformFanOutService platformFanOutService;
+
+    private final Duration lookahead;
+
+    private final Duration staleClaimTimeout;
+
+    private final int batchSize;
+
+    private final DelayQueue<DueEntry> timer = new DelayQueue<>();
+
+    // postId -> armed timer entry, so reloads do not arm the same post twice
+    private final ConcurrentMap<Long, DueEntry> armed = new ConcurrentHashMap<>();
+
+    private final ThreadPoolExecutor workers;
+
+    private final Thread dispatcher;
+
+    private volatile boolean running = true;
+
+    private final Timer publishLag;
+
+    private final Timer claimTimer;
+
+    private final DistributionSummary claimBatchSize;
+
+    private final Counter emptyClaims;
+
+    private final Counter published;
+
+    private final Counter failed;
+
+    public ScheduledPublishingService(PostService postService,
+                                      PlatformFanOutService platformFanOutService,
+                                      MeterRegistry meterRegistry,
+                                      @Value("${publishing.lookahead:10m}") Duration lookahead,
+                                      @Value("${publishing.stale-claim-timeout:10m}") Duration staleClaimTimeout,
+                                      @Value("${publishing.batch-size:50}") int batchSize,
+                                      @Value("${publishing.workers:4}") int workerCount,
+                                      @Value("${publishing.queue-capacity:200}") int queueCapacity) {
+        this.postService = postService;
+        this.platformFanOutService = platformFanOutService;
+        this.lookahead = lookahead;
+        this.staleClaimTimeout = staleClaimTimeout;
+        this.batchSize = batchSize;
+        // CallerRunsPolicy makes the dispatcher publish itself when workers fall behind, which
+        // throttles further claims instead of claiming posts nobody can publish yet
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("post-publisher-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.dispatcher = new Thread(this::dispatchLoop, "post-publisher-dispatcher");
+        this.dispatcher.setDaemon(true);
+
+        this.publishLag = Timer.builder("posts.publish.lag")
+                .description("Delay between a post's scheduled time and its actual publication")
+                .register(meterRegistry);
+        this.claimTimer = Timer.builder("posts.publish.claim")
+                .register(meterRegistry);
+        this.claimBatchSize = DistributionSummary.builder("posts.publish.claim.batch.size")
+                .register(meterRegistry);
+        this.emptyClaims = Counter.builder("posts.publish.claim.empty")
+                .description("Claims that found no due posts, e.g. because another node took them")
+                .register(meterRegistry);
+        this.published = Counter.builder("posts.publish.completed")
+                .tag("outcome", "published")
+                .register(meterRegistry);
+        this.failed = Counter.builder("posts.publish.completed")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        Gauge.builder("posts.publish.timer.size", timer, DelayQueue::size).register(meterRegistry);
+        Gauge.builder("posts.publish.queue.depth", workers, w -> w.getQueue().size()).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        reloadUpcoming();
+        dispatcher.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        dispatcher.interrupt();
+        workers.shutdown();
+    }
+
+    @EventListener
+    public void onPostScheduled(PostScheduledEvent event) {
+        if (event.getScheduledTime() != null
+                && event.getScheduledTime().isBefore(LocalDateTime.now().plus(lookahead))) {
+            arm(event.getPostId(), event.getScheduledTime());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${publishing.reload-interval:60000}")
+    public void reloadUpcoming() {
+        try {
+            for (Post post : postService.getScheduledPostsDueBefore(LocalDateTime.now().plus(lookahead))) {
+                arm(post.getId(), post.getScheduledTime());
+            }
+        } catch (Exception e) {
+            logger.error("Failed to load upcoming scheduled posts", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${publishing.stale-claim-check-interval:60000}")
+    public void releaseStaleClaims() {
+        try {
+            int released = postService.releaseStaleClaims(LocalDateTime.now().minus(staleClaimTimeout));
+            if (released > 0) {
+                logger.warn("Released {} stale publishing claims", released);
+                reloadUpcoming();
+            }
+        } catch (Exception e) {
+            logger.error("Failed to release stale publishing claims", e);
+        }
+    }
+
+    private void arm(Long postId, LocalDateTime scheduledTime) {
+        long dueAt = scheduledTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        DueEntry entry = new DueEntry(postId, dueAt);
+        DueEntry previous = armed.put(postId, entry);
+        if (previous != null) {
+            if (previous.dueAtMillis == dueAt) {
+                return;
+            }
+            timer.remove(previous);
+        }
+        timer.offer(entry);
+    }
+
+    private void dispatchLoop() {
+        while (running) {
+            try {
+                List<DueEntry> fired = new ArrayList<>();
+                fired.add(timer.take());
+                timer.drainTo(fired);
+                for (DueEntry entry : fired) {
+                    armed.remove(entry.postId, entry);
+                }
+                claimAndDispatch();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Scheduled publishing dispatch failed", e);
+            }
+        }
+    }
+
+    private void claimAndDispatch() {
+        int claimed;
+        do {
+            List<Post> batch = claimTimer.record(() -> postService.claimDueScheduledPosts(batchSize));
+            claimed = batch.size();
+            claimBatchSize.record(claimed);
+            if (claimed == 0) {
+                emptyClaims.increment();
+            }
+            for (Post post : batch) {
+                Long postId = post.getId();
+                LocalDateTime scheduledTime = post.getScheduledTime();
+                workers.execute(() -> publish(postId, scheduledTime));
+            }
+        } while (claimed == batchSize);
+    }
+
+    private void publish(Long postId, LocalDateTime scheduledTime) {
+        Post post;
+        try {
+            Optional<Post> claimed = postService.publishScheduledPost(postId);
+            if (claimed.isEmpty()) {
+                logger.info("Post {} is no longer claimed for publishing, skipping it", postId);
+                return;
+            }
+            post = claimed.get();
+        } catch (Exception e) {
+            logger.error("Failed to publish scheduled post {}", postId, e);
+            failed.increment();
+            try {
+                postService.markPublishFailed(postId);
+            } catch (Exception markError) {
+                logger.error("Failed to mark post {} as failed", postId, markError);
+            }
+            return;
+        }
+        publishLag.record(Duration.between(scheduledTime, post.getPublishedAt()));
+        published.increment();
+        try {
+            // waiting here keeps the worker pool's backpressure meaningful; platform failures are
+            // recorded per platform and never fail the post itself
+            platformFanOutService.publishToPlatforms(post).join();
+        } catch (Exception e) {
+            logger.error("Failed to fan out published post {} to its platforms", postId, e);
+        }
+    }
+
+    private static final class DueEntry implements Delayed {
+
+        private final Long postId;
+
+        private final long dueAtMillis;
+
+        private DueEntry(Long postId, long dueAtMillis) {
+            this.postId = postId;
+            this.dueAtMillis = dueAtMillis;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAtMillis, ((DueEntry) other).dueAtMillis);
+        }
+    }
+}
@@ -1,14 +1,18 @@
 package com.socialmedia.editor.service;
 
-import com.socialmedia.editor.dto.LinkedInStatsDto;
+import com.socialmedia.editor.connector.AccountStats;
+import com.socialmedia.editor.connector.PlatformConnectorRegistry;
+import com.socialmedia.editor.event.AccountChangedEvent;
 import com.socialmedia.editor.model.SocialMediaAccount;
 import com.socialmedia.editor.model.User;
 import com.socialmedia.editor.repository.SocialMediaAccountRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,7 +25,10 @@ public class SocialMediaService {
     private SocialMediaAccountRepository socialMediaAccountRepository;
 
     @Autowired
-    private LinkedInConnectorService linkedInConnectorService;
+    private PlatformConnectorRegistry platformConnectorRegistry;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     public List<SocialMediaAccount> getActiveAccountsByUser(User user) {
         return socialMediaAccountRepository.findByUserAndIsActiveTrue(user);
@@ -46,7 +53,9 @@ public class SocialMediaService {
         account.setFollowingCount(0L);
         account.setPostsCount(0L);
 
-        return socialMediaAccountRepository.save(account);
+        SocialMediaAccount saved = socialMediaAccountRepository.save(account);
+        accountChanged(saved);
+        return saved;
     }
 
     public SocialMediaAccount updateAccountStats(Long accountId, Long followersCount,
@@ -57,7 +66,9 @@ public class SocialMediaService {
             account.setFollowersCount(followersCount);
             account.setFollowingCount(followingCount);
             account.setPostsCount(postsCount);
-            return socialMediaAccountRepository.save(account);
+            SocialMediaAccount saved = socialMediaAccountRepository.save(account);
+            accountChanged(saved);
+            return saved;
         }
         throw new RuntimeException("Account not found");
     }
@@ -71,6 +82,7 @@ public class SocialMediaService {
             }
             account.setIsActive(false);
             socialMediaAccountRepository.save(account);
+            accountChanged(account);
         } else {
             throw new RuntimeException("Account not found");
         }
@@ -94,109 +106,47 @@ public class SocialMediaService {
         Optional<SocialMediaAccount> accountOpt = socialMediaAccountRepository.findById(accountId);
         if (accountOpt.isPresent()) {
             SocialMediaAccount account = accountOpt.get();
+            // always touch the row, even when the counts did not change, so the background
+            // sweep (which orders by updatedAt) moves on to other accounts
+            account.setUpdatedAt(LocalDateTime.now());
 
-            switch (account.getPlatform()) {
-                case TWITTER:
-                    refreshTwitterStats(account);
-                    break;
-                case FACEBOOK:
-                    refreshFacebookStats(account);
-                    break;
-                case INSTAGRAM:
-                    refreshInstagramStats(account);
-                    break;
-                case LINKEDIN:
-                    refreshLinkedInStats(account);
-                    break;
-                default:
-                    break;
+            if (platformConnectorRegistry.supports(account.getPlatform())) {
+                refreshConnectedStats(account);
+            } else {
+                // no integration to ask yet, keep the numbers we have
+                keepCurrentStats(account);
             }
+            accountChanged(account);
         }
     }
 
-    private void refreshTwitterStats(SocialMediaAccount account) {
-        account.setFollowersCount(account.getFollowersCount() != null ? account.getFollowersCount() : 0L);
-        account.setFollowingCount(account.getFollowingCount() != null ? account.getFollowingCount() : 0L);
-        account.setPostsCount(account.getPostsCount() != null ? account.getPostsCount() : 0L);
-        socialMediaAccountRepository.save(account);
-    }
-
-    private void refreshFacebookStats(SocialMediaAccount account) {
-        account.setFollowersCount(account.getFollowersCount() != null ? account.getFollowersCount() : 0L);
-        account.setFollowingCount(account.getFollowingCount() != null ? account.getFollowingCount() : 0L);
-        account.setPostsCount(account.getPostsCount() != null ? account.getPostsCount() : 0L);
-        socialMediaAccountRepository.save(account);
-    }
-
-    private void refreshInstagramStats(SocialMediaAccount account) {
-        account.setFollowersCount(account.getFollowersCount() != null ? account.getFollowersCount() : 0L);
-        account.setFollowingCount(account.getFollowingCount() != null ? account.getFollowingCount() : 0L);
-        account.setPostsCount(account.getPostsCount() != null ? account.getPostsCount() : 0L);
-        socialMediaAccountRepository.save(account);
+    private void accountChanged(SocialMediaAccount account) {
+        eventPublisher.publishEvent(new AccountChangedEvent(account.getUser().getId(), account.getId()));
     }
 
-    private void refreshLinkedInStats(SocialMediaAccount account) {
+    private void refreshConnectedStats(SocialMediaAccount account) {
         try {
-            if (account.getAccessToken() == null) {
-                logger.warn("No access token found for LinkedIn account: {}", account.getId());
-                return;
-            }
+            AccountStats stats = PlatformConnectorRegistry.await(platformConnectorRegistry.fetchStats(account));
 
-            boolean isTokenValid = linkedInConnectorService.validateAccessToken(account.getAccessToken());
-            if (!isTokenValid) {
-                logger.info("LinkedIn access token invalid, attempting refresh for account: {}", account.getId());
-
-                if (account.getRefreshToken() != null) {
-                    try {
-                        var tokenResponse = linkedInConnectorService
-                                .refreshAccessToken(account.getRefreshToken())
-                                .block();
-
-                        if (tokenResponse != null && tokenResponse.getAccessToken() != null) {
-                            account.setAccessToken(tokenResponse.getAccessToken());
-                            if (tokenResponse.getRefreshToken() != null) {
-                                account.setRefreshToken(tokenResponse.getRefreshToken());
-                            }
-                            logger.info("Successfully refreshed LinkedIn token for account: {}", account.getId());
-                        } else {
-                            logger.error("Failed to refresh LinkedIn token for account: {}", account.getId());
-                            return;
-                        }
-                    } catch (Exception e) {
-                        logger.error("Error refreshing LinkedIn token for account: {}", account.getId(), e);
-                        return;
-                    }
-                } else {
-                    logger.warn("No refresh token available for LinkedIn account: {}", account.getId());
-                    return;
-                }
-            }
-
-            LinkedInStatsDto stats = linkedInConnectorService
-                    .getUserStats(account.getAccessToken())
-                    .block();
-
-            if (stats != null) {
-                account.setFollowersCount(stats.getFollowersCount());
-                account.setFollowingCount(stats.getEffectiveConnectionsCount());
-                account.setPostsCount(0L);
-                logger.info("Updated LinkedIn stats for account: {} - Followers: {}, Connections: {}",
-                        account.getId(), stats.getFollowersCount(), stats.getEffectiveConnectionsCount());
-            } else {
-                logger.warn("Could not fetch LinkedIn stats for account: {}", account.getId());
-                account.setFollowersCount(account.getFollowersCount() != null ? account.getFollowersCount() : 0L);
-                account.setFollowingCount(account.getFollowingCount() != null ? account.getFollowingCount() : 0L);
-                account.setPostsCount(0L);
-            }
+            account.setFollowersCount(stats.getFollowersCount());
+            account.setFollowingCount(stats.getFollowingCount());
+            account.setPostsCount(stats.getPostsCount());
+            logger.info("Updated {} stats for account: {} - Followers: {}, Following: {}", account.getPlatform(),
+                    account.getId(), stats.getFollowersCount(), stats.getFollowingCount());
 
             socialMediaAccountRepository.save(account);
 
-        } catch (Exception e) {
-            logger.error("Error refreshing LinkedIn stats for account: {}", account.getId(), e);
-            account.setFollowersCount(account.getFollowersCount() != null ? account.getFollowersCount() : 0L);
-            account.setFollowingCount(account.getFollowingCount() != null ? account.getFollowingCount() : 0L);
-            account.setPostsCount(account.getPostsCount() != null ? account.getPostsCount() : 0L);
-            socialMediaAccountRepository.save(account);
+        } catch (RuntimeException e) {
+            logger.error("Error refreshing {} stats for account: {}", account.getPlatform(), account.getId(), e);
+            keepCurrentStats(account);
+            throw e;
         }
     }
-}
\ No newline at end of file
+
+    private void keepCurrentStats(SocialMediaAccount account) {
+        account.setFollowersCount(account.getFollowersCount() != null ? account.getFollowersCount() : 0L);
+        account.setFollowingCount(account.getFollowingCount() != null ? account.getFollowingCount() : 0L);
+        account.setPostsCount(account.getPostsCount() != null ? account.getPostsCount() : 0L);
+        socialMediaAccountRepository.save(account);
+    }
+}
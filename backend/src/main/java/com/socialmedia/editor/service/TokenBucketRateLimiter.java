@@ -0,0 +1,77 @@
+package com.socialmedia.editor.service;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Keyed token bucket without locks. Each key holds a single {@link AtomicLong} with its
+ * theoretical arrival time (the GCRA formulation of a token bucket), so a check is one
+ * map lookup plus a CAS loop. A bucket that has fully refilled carries no state worth
+ * keeping and is dropped by {@link #evictIdle()}.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long emissionIntervalNanos;
+
+    private final long burstToleranceNanos;
+
+    private final LongSupplier nanoClock;
+
+    private final ConcurrentMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * @param capacity     maximum burst size
+     * @param refillPeriod time for an empty bucket to refill completely
+     */
+    public TokenBucketRateLimiter(int capacity, Duration refillPeriod) {
+        this(capacity, refillPeriod, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(int capacity, Duration refillPeriod, LongSupplier nanoClock) {
+        if (capacity <= 0 || refillPeriod.isNegative() || refillPeriod.isZero()) {
+            throw new IllegalArgumentException("Capacity and refill period must be positive");
+        }
+        this.emissionIntervalNanos = refillPeriod.toNanos() / capacity;
+        this.burstToleranceNanos = emissionIntervalNanos * capacity;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Takes one token for {@code key}.
+     *
+     * @return 0 if a token was taken, otherwise the nanoseconds until one becomes available
+     */
+    public long tryAcquire(String key) {
+        AtomicLong arrival = buckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+        while (true) {
+            long now = nanoClock.getAsLong();
+            long current = arrival.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            long wait = next - now - burstToleranceNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Removes buckets that have refilled completely. A concurrent {@link #tryAcquire} on an
+     * evicted key simply starts from a full bucket again.
+     */
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int before = buckets.size();
+        buckets.entrySet().removeIf(entry -> entry.getValue().get() <= now);
+        return before - buckets.size();
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,161 @@
+package com.socialmedia.editor.service;
+
+import com.socialmedia.editor.model.RevokedToken;
+import com.socialmedia.editor.model.User;
+import com.socialmedia.editor.repository.RevokedTokenRepository;
+import com.socialmedia.editor.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * JWT revocation backed by the revoked_tokens table and users.tokens_valid_after, mirrored
+ * in memory so JWTAuthenticationFilter can check a token with two hash lookups and no query.
+ * <p>
+ * The in-memory view is loaded at startup and then synced periodically with revocations
+ * written by other nodes. Denylist entries are pruned once the token they refer to has
+ * expired, because an expired token is rejected by signature verification anyway.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    /**
+     * Issue time in epoch millis. The standard iat claim only has second precision, which is too
+     * coarse to tell a token minted just before "revoke all sessions" from a re-login right after.
+     */
+    public static final String ISSUED_AT_MILLIS_CLAIM = "iat_ms";
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    private final UserRepository userRepository;
+
+    private final long jwtExpirationMs;
+
+    // jti -> token expiry (epoch millis)
+    private final Map<String, Long> deniedTokens = new ConcurrentHashMap<>();
+
+    // username -> tokens issued before this epoch milli are revoked
+    private final Map<String, Long> validAfterMillis = new ConcurrentHashMap<>();
+
+    private volatile LocalDateTime lastSync = LocalDateTime.now();
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  UserRepository userRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${jwt.expiration}") long jwtExpirationMs) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.userRepository = userRepository;
+        this.jwtExpirationMs = jwtExpirationMs;
+        Gauge.builder("auth.token.denylist.size", deniedTokens, Map::size).register(meterRegistry);
+        Gauge.builder("auth.token.watermarks.size", validAfterMillis, Map::size).register(meterRegistry);
+    }
+
+    public boolean isRevoked(Claims claims) {
+        String jti = claims.getId();
+        if (jti != null && deniedTokens.containsKey(jti)) {
+            return true;
+        }
+        Long watermark = validAfterMillis.get(claims.getSubject());
+        if (watermark == null) {
+            return false;
+        }
+        Long issuedAtMillis = claims.get(ISSUED_AT_MILLIS_CLAIM, Long.class);
+        if (issuedAtMillis != null) {
+            return issuedAtMillis < watermark;
+        }
+        // Tokens minted before the millisecond claim was added only carry iat; rejecting any
+        // issued within the watermark's second keeps them from outliving a revocation
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt == null || issuedAt.getTime() / 1000 < Math.floorDiv(watermark + 999, 1000);
+    }
+
+    @Transactional
+    public void revokeToken(Claims claims) {
+        String jti = claims.getId();
+        if (jti == null) {
+            // Tokens minted before jti was added can only be revoked through revokeAllSessions
+            throw new IllegalArgumentException("Token has no id and cannot be revoked individually");
+        }
+        long expiresAt = claims.getExpiration().getTime();
+        if (deniedTokens.putIfAbsent(jti, expiresAt) == null && !revokedTokenRepository.existsByJti(jti)) {
+            revokedTokenRepository.save(new RevokedToken(jti, claims.getSubject(), toLocalDateTime(expiresAt)));
+        }
+    }
+
+    @Transactional
+    public void revokeAllSessions(User user) {
+        // The caller's User may be a cached, detached copy; saving it could write back stale columns
+        User current = userRepository.findById(user.getId())
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        LocalDateTime now = LocalDateTime.now();
+        current.setTokensValidAfter(now);
+        userRepository.save(current);
+        validAfterMillis.put(current.getUsername(), toEpochMillis(now));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRevocations() {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.findByExpiresAtAfter(now).forEach(this::remember);
+        userRepository.findByTokensValidAfterAfter(now.minusNanos(jwtExpirationMs * 1_000_000))
+                .forEach(this::remember);
+        lastSync = now;
+        logger.info("Loaded {} revoked tokens and {} session watermarks", deniedTokens.size(), validAfterMillis.size());
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revocation.sync-interval:30000}")
+    public void syncRevocations() {
+        // Overlap the window slightly so rows committed while the previous sync ran are not missed
+        LocalDateTime since = lastSync.minusSeconds(5);
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.findByRevokedAtAfter(since).forEach(this::remember);
+        userRepository.findByTokensValidAfterAfter(since).forEach(this::remember);
+        lastSync = now;
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revocation.prune-interval:600000}")
+    @Transactional
+    public void pruneExpired() {
+        long now = System.currentTimeMillis();
+        deniedTokens.values().removeIf(expiresAt -> expiresAt < now);
+        long oldestLiveIssuedAt = now - jwtExpirationMs;
+        validAfterMillis.values().removeIf(watermark -> watermark < oldestLiveIssuedAt);
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            logger.debug("Pruned {} expired token revocations", deleted);
+        }
+    }
+
+    private void remember(RevokedToken revokedToken) {
+        deniedTokens.put(revokedToken.getJti(), toEpochMillis(revokedToken.getExpiresAt()));
+    }
+
+    private void remember(User user) {
+        validAfterMillis.merge(user.getUsername(), toEpochMillis(user.getTokensValidAfter()), Math::max);
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
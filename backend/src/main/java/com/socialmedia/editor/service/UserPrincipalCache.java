@@ -0,0 +1,52 @@
+package com.socialmedia.editor.service;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.socialmedia.editor.event.UserChangedEvent;
+import com.socialmedia.editor.model.User;
+import com.socialmedia.editor.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Bounded, TTL-based cache of authenticated principals keyed by JWT subject, so that
+ * JWTAuthenticationFilter does not hit the users table on every request.
+ * Hit/miss counters are published as {@code cache.*{cache="principals"}}.
+ */
+@Service
+public class UserPrincipalCache {
+
+    private final LoadingCache<String, User> cache;
+
+    public UserPrincipalCache(UserRepository userRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${auth.principal-cache.max-size:10000}") long maxSize,
+                              @Value("${auth.principal-cache.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(username -> userRepository.findByUsername(username).orElse(null));
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+    }
+
+    public Optional<User> getUser(String username) {
+        return Optional.ofNullable(cache.get(username));
+    }
+
+    public void invalidate(String username) {
+        cache.invalidate(username);
+    }
+
+    // After commit, so a concurrent request cannot reload and re-cache the row it replaces
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        invalidate(event.getUsername());
+    }
+}
@@ -0,0 +1,71 @@
+package com.socialmedia.editor.benchmark;
+
+import com.socialmedia.editor.service.AuthService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of JWT verification in JWTAuthenticationFilter.
+ * <p>
+ * {@code legacyDoubleParse} reproduces the previous filter path: derive the key and build a parser
+ * for the subject lookup, then do it all again for validation. {@code singleParse} is the current
+ * path through {@link AuthService#verifyJwtToken(String)} with the cached key and parser.
+ * <p>
+ * Run with: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.socialmedia.editor.benchmark.JwtVerificationBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "testSecretKeyForTestingThatIs32CharactersLong!";
+
+    private AuthService authService;
+
+    private String token;
+
+    @Setup
+    public void setUp() {
+        authService = new AuthService();
+        ReflectionTestUtils.setField(authService, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(authService, "jwtExpirationMs", 86400000);
+        token = authService.generateJwtToken("testuser");
+    }
+
+    @Benchmark
+    public String legacyDoubleParse() {
+        Key key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        String username = claims.getSubject();
+
+        Key validationKey = Keys.hmacShaKeyFor(SECRET.getBytes());
+        Jwts.parserBuilder().setSigningKey(validationKey).build().parseClaimsJws(token);
+        return username;
+    }
+
+    @Benchmark
+    public String singleParse() {
+        return authService.verifyJwtToken(token).getSubject();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,114 @@
+package com.socialmedia.editor.connector;
+
+import com.socialmedia.editor.model.SocialMediaAccount;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PlatformConnectorRegistryTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final PlatformConnectorRegistry registry = new PlatformConnectorRegistry(
+            List.of(new SlowConnector(release)), meterRegistry,
+            new MockEnvironment().withProperty("connectors.linkedin.timeout", "200ms"),
+            1, 1, Duration.ofSeconds(30));
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        registry.shutdown();
+    }
+
+    @Test
+    void call_WhenPlatformHasNoConnector_ShouldFail() {
+        SocialMediaAccount account = new SocialMediaAccount(null, SocialMediaAccount.Platform.TWITTER, "Twitter");
+
+        assertThat(registry.supports(SocialMediaAccount.Platform.TWITTER)).isFalse();
+        assertThatThrownBy(() -> PlatformConnectorRegistry.await(registry.publish(account, "hello")))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("not supported");
+    }
+
+    @Test
+    void call_WhenConnectorHangs_ShouldTimeOutWithItsOwnBudget() {
+        SocialMediaAccount account = new SocialMediaAccount(null, SocialMediaAccount.Platform.LINKEDIN, "LinkedIn");
+
+        assertThatThrownBy(() -> PlatformConnectorRegistry.await(registry.fetchStats(account)))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("did not answer in time");
+        assertThat(meterRegistry.get("platform.connector.calls")
+                .tag("operation", "fetch_stats").tag("outcome", "failure").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void call_WhenBulkheadIsFull_ShouldRejectImmediately() throws Exception {
+        SocialMediaAccount account = new SocialMediaAccount(null, SocialMediaAccount.Platform.LINKEDIN, "LinkedIn");
+        CompletableFuture<String> running = registry.publish(account, "occupies the only thread");
+        CompletableFuture<String> queued = registry.publish(account, "occupies the only queue slot");
+
+        CompletableFuture<String> rejected = registry.publish(account, "no room left");
+
+        assertThat(rejected).isCompletedExceptionally();
+        release.countDown();
+        CompletableFuture.allOf(running, queued).get(5, TimeUnit.SECONDS);
+        assertThat(registry.publish(account, "after release").get(5, TimeUnit.SECONDS)).isEqualTo("post-id");
+    }
+
+    private static class SlowConnector implements PlatformConnector {
+
+        private final CountDownLatch release;
+
+        SlowConnector(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public SocialMediaAccount.Platform getPlatform() {
+            return SocialMediaAccount.Platform.LINKEDIN;
+        }
+
+        @Override
+        public AccountStats fetchStats(SocialMediaAccount account) {
+            await();
+            return new AccountStats(1, 2, 3);
+        }
+
+        @Override
+        public void refreshToken(SocialMediaAccount account) {
+            await();
+        }
+
+        @Override
+        public String publish(SocialMediaAccount account, String content) {
+            await();
+            return "post-id";
+        }
+
+        @Override
+        public boolean validate(SocialMediaAccount account) {
+            await();
+            return true;
+        }
+
+        private void await() {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.socialmedia.editor.controller;
+
+import com.socialmedia.editor.dto.AIContentResponse;
+import com.socialmedia.editor.repository.UserRepository;
+import com.socialmedia.editor.service.AIContentService;
+import com.socialmedia.editor.service.AIOverloadedException;
+import com.socialmedia.editor.service.AuthService;
+import com.socialmedia.editor.service.LoginRateLimiter;
+import com.socialmedia.editor.service.TokenRevocationService;
+import com.socialmedia.editor.service.UserPrincipalCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(AIContentController.class)
+@Import(com.socialmedia.editor.config.TestSecurityConfig.class)
+@ActiveProfiles("test")
+class AIContentControllerTest {
+
+    private static final String REQUEST = "{\"prompt\":\"Launch day\",\"existingContent\":\"We launched\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AIContentService aiContentService;
+
+    @MockBean
+    private AuthService authService;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @MockBean
+    private UserPrincipalCache userPrincipalCache;
+
+    @MockBean
+    private LoginRateLimiter loginRateLimiter;
+
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
+    @Test
+    void generateVariations_WhenRequestIsShed_ShouldAnswerTooManyRequests() throws Exception {
+        when(aiContentService.generateVariations(any(), any())).thenReturn(CompletableFuture.failedFuture(
+                new CompletionException(new AIOverloadedException("Too many AI requests waiting, please try again shortly"))));
+
+        MvcResult result = mockMvc.perform(post("/api/ai/variations")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(REQUEST))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.success", is(false)));
+    }
+
+    @Test
+    void generateHashtags_WhenServiceFails_ShouldAnswerBadRequest() throws Exception {
+        when(aiContentService.generateHashtags(any(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new CompletionException(new IllegalStateException("boom"))));
+
+        MvcResult result = mockMvc.perform(post("/api/ai/hashtags")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(REQUEST))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(header().doesNotExist(HttpHeaders.RETRY_AFTER));
+    }
+
+    @Test
+    void generateHashtags_WhenGenerated_ShouldAnswerOk() throws Exception {
+        AIContentResponse response = new AIContentResponse();
+        response.setHashtags(List.of("#launch"));
+        when(aiContentService.generateHashtags(any(), any())).thenReturn(CompletableFuture.completedFuture(response));
+
+        MvcResult result = mockMvc.perform(post("/api/ai/hashtags")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(REQUEST))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hashtags[0]", is("#launch")));
+    }
+}
@@ -4,15 +4,28 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.socialmedia.editor.model.User;
 import com.socialmedia.editor.repository.UserRepository;
 import com.socialmedia.editor.service.AuthService;
+import com.socialmedia.editor.service.LoginRateLimiter;
+import com.socialmedia.editor.service.PasswordHashingService;
+import com.socialmedia.editor.service.TokenRevocationService;
+import com.socialmedia.editor.service.UserPrincipalCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
@@ -33,6 +46,15 @@ class AuthControllerTest {
     @MockBean
     private UserRepository userRepository;
 
+    @MockBean
+    private UserPrincipalCache userPrincipalCache;
+
+    @MockBean
+    private LoginRateLimiter loginRateLimiter;
+
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -205,4 +227,38 @@ class AuthControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(header().string("Access-Control-Allow-Origin", "http://localhost:3000"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void login_WhenPasswordHashingIsSaturated_ShouldAnswerTooManyRequests() throws Exception {
+        PasswordHashingService hashing = new PasswordHashingService(new SimpleMeterRegistry(), 1, 1, 4,
+                Duration.ofMillis(250), Duration.ofSeconds(5));
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            String hash = new BCryptPasswordEncoder(4).encode("password123");
+            ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(hashing, "executor");
+            for (int i = 0; i < 2; i++) {
+                executor.execute(() -> {
+                    try {
+                        release.await(10, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+            when(authService.authenticateUser("testuser", "password123"))
+                    .thenAnswer(invocation -> hashing.matches("password123", hash) ? "mock.jwt.token" : null);
+            AuthController.LoginRequest loginRequest = new AuthController.LoginRequest();
+            loginRequest.setUsername("testuser");
+            loginRequest.setPassword("password123");
+
+            mockMvc.perform(post("/api/auth/login")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(loginRequest)))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        } finally {
+            release.countDown();
+            hashing.shutdown();
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.socialmedia.editor.controller;
+
+import com.socialmedia.editor.config.SecurityConfig;
+import com.socialmedia.editor.dto.LinkedInProfileDto;
+import com.socialmedia.editor.dto.LinkedInStatsDto;
+import com.socialmedia.editor.dto.LinkedInTokenResponseDto;
+import com.socialmedia.editor.model.SocialMediaAccount;
+import com.socialmedia.editor.model.User;
+import com.socialmedia.editor.repository.UserRepository;
+import com.socialmedia.editor.service.AuthService;
+import com.socialmedia.editor.service.LinkedInConnectorService;
+import com.socialmedia.editor.service.LinkedInTokenService;
+import com.socialmedia.editor.service.LinkedInUnavailableException;
+import com.socialmedia.editor.service.LoginRateLimiter;
+import com.socialmedia.editor.service.SocialMediaService;
+import com.socialmedia.editor.service.TokenRevocationService;
+import com.socialmedia.editor.service.UserPrincipalCache;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs against the real SecurityConfig: the JWT filter does not run again on the async
+ * dispatch that renders the deferred result, so that dispatch has to be permitted as such.
+ */
+@WebMvcTest(LinkedInOAuthController.class)
+@Import(SecurityConfig.class)
+@ActiveProfiles("test")
+class LinkedInOAuthControllerTest {
+
+    private static final String BEARER = "Bearer test-token";
+
+    private static final String REQUEST = "{\"code\":\"auth-code\"}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private LinkedInConnectorService linkedInConnectorService;
+
+    @MockBean
+    private SocialMediaService socialMediaService;
+
+    @MockBean
+    private LinkedInTokenService linkedInTokenService;
+
+    @MockBean
+    private AuthService authService;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @MockBean
+    private UserPrincipalCache userPrincipalCache;
+
+    @MockBean
+    private LoginRateLimiter loginRateLimiter;
+
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
+    private User user;
+
+    private SocialMediaAccount account;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("testuser", "test@example.com", "encoded");
+        user.setId(1L);
+        account = new SocialMediaAccount(user, SocialMediaAccount.Platform.LINKEDIN, "Test User");
+        account.setId(42L);
+
+        Claims claims = Jwts.claims();
+        claims.setSubject("testuser");
+        when(authService.verifyJwtToken("test-token")).thenReturn(claims);
+        when(userPrincipalCache.getUser("testuser")).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void frontendCallback_WhenProfileAndStatsArrive_ShouldConnectWithBoth() throws Exception {
+        tokenExchange("access-token");
+        when(linkedInConnectorService.getUserProfile("access-token")).thenReturn(Mono.just(profile()));
+        when(linkedInConnectorService.getUserStats("access-token")).thenReturn(Mono.just(stats(120L, 80L)));
+        when(socialMediaService.addAccount(eq(user), eq(SocialMediaAccount.Platform.LINKEDIN), any(), any(),
+                eq("access-token"), eq("refresh-token"))).thenReturn(account);
+
+        MvcResult result = mockMvc.perform(frontendCallback())
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success", is(true)))
+                .andExpect(jsonPath("$.accountId", is(42)));
+        assertThat(account.getFollowersCount()).isEqualTo(120L);
+        assertThat(account.getFollowingCount()).isEqualTo(80L);
+        verify(linkedInTokenService).storeTokens(eq(account), any());
+    }
+
+    @Test
+    void frontendCallback_WhenStatsAreUnavailable_ShouldStillConnect() throws Exception {
+        tokenExchange("access-token");
+        when(linkedInConnectorService.getUserProfile("access-token")).thenReturn(Mono.just(profile()));
+        when(linkedInConnectorService.getUserStats("access-token"))
+                .thenReturn(Mono.error(new LinkedInUnavailableException("LinkedIn stats circuit is open")));
+        when(socialMediaService.addAccount(any(), any(), any(), any(), any(), any())).thenReturn(account);
+
+        MvcResult result = mockMvc.perform(frontendCallback())
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.accountId", is(42)));
+    }
+
+    @Test
+    void frontendCallback_WhenTokenExchangeReturnsNoToken_ShouldAnswerTokenExchangeFailed() throws Exception {
+        when(linkedInConnectorService.exchangeAuthorizationCode("auth-code"))
+                .thenReturn(Mono.just(new LinkedInTokenResponseDto()));
+
+        MvcResult result = mockMvc.perform(frontendCallback())
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("token_exchange_failed"));
+        verify(linkedInConnectorService, never()).getUserProfile(any());
+    }
+
+    @Test
+    void frontendCallback_WhenAccountIsAlreadyConnected_ShouldAnswerAlreadyConnected() throws Exception {
+        tokenExchange("access-token");
+        when(linkedInConnectorService.getUserProfile("access-token")).thenReturn(Mono.just(profile()));
+        when(linkedInConnectorService.getUserStats("access-token")).thenReturn(Mono.just(stats(1L, 1L)));
+        when(socialMediaService.addAccount(any(), any(), any(), any(), any(), any()))
+                .thenThrow(new RuntimeException("Account already connected for this platform"));
+
+        MvcResult result = mockMvc.perform(frontendCallback())
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().string("already_connected"));
+    }
+
+    @Test
+    void callback_WhenConnected_ShouldRedirectToDashboard() throws Exception {
+        tokenExchange("access-token");
+        when(linkedInConnectorService.getUserProfile("access-token")).thenReturn(Mono.just(profile()));
+        when(linkedInConnectorService.getUserStats("access-token")).thenReturn(Mono.just(stats(1L, 1L)));
+        when(socialMediaService.addAccount(any(), any(), any(), any(), any(), any())).thenReturn(account);
+
+        MvcResult result = mockMvc.perform(get("/api/oauth/linkedin/callback")
+                        .param("code", "auth-code")
+                        .header(HttpHeaders.AUTHORIZATION, BEARER))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isFound())
+                .andExpect(header().string(HttpHeaders.LOCATION,
+                        "http://localhost:3000/dashboard?linkedin_success=true"));
+    }
+
+    @Test
+    void frontendCallback_WithoutToken_ShouldBeRejectedBeforeCallingLinkedIn() throws Exception {
+        mockMvc.perform(post("/api/oauth/linkedin/callback/frontend")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(REQUEST))
+                .andExpect(status().isForbidden());
+
+        verify(linkedInConnectorService, never()).exchangeAuthorizationCode(any());
+    }
+
+    private RequestBuilder frontendCallback() {
+        return post("/api/oauth/linkedin/callback/frontend")
+                .header(HttpHeaders.AUTHORIZATION, BEARER)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(REQUEST);
+    }
+
+    private void tokenExchange(String accessToken) {
+        LinkedInTokenResponseDto tokenResponse = new LinkedInTokenResponseDto();
+        tokenResponse.setAccessToken(accessToken);
+        tokenResponse.setRefreshToken("refresh-token");
+        tokenResponse.setExpiresIn(3600);
+        when(linkedInConnectorService.exchangeAuthorizationCode("auth-code")).thenReturn(Mono.just(tokenResponse));
+    }
+
+    private static LinkedInProfileDto profile() {
+        LinkedInProfileDto profile = new LinkedInProfileDto();
+        profile.setId("li-123");
+        profile.setLocalizedFirstName("Test");
+        profile.setLocalizedLastName("User");
+        profile.setEmail("test@example.com");
+        return profile;
+    }
+
+    private static LinkedInStatsDto stats(Long followers, Long connections) {
+        LinkedInStatsDto stats = new LinkedInStatsDto();
+        stats.setFollowersCount(followers);
+        stats.setConnectionsCount(connections);
+        return stats;
+    }
+}
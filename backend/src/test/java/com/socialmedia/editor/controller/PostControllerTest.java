@@ -0,0 +1,79 @@
+package com.socialmedia.editor.controller;
+
+import com.socialmedia.editor.dto.CursorPage;
+import com.socialmedia.editor.dto.PostSummaryDto;
+import com.socialmedia.editor.model.Post;
+import com.socialmedia.editor.repository.UserRepository;
+import com.socialmedia.editor.service.AuthService;
+import com.socialmedia.editor.service.LoginRateLimiter;
+import com.socialmedia.editor.service.PostService;
+import com.socialmedia.editor.service.TokenRevocationService;
+import com.socialmedia.editor.service.UserPrincipalCache;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(PostController.class)
+@Import(com.socialmedia.editor.config.TestSecurityConfig.class)
+@ActiveProfiles("test")
+class PostControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private PostService postService;
+
+    @MockBean
+    private AuthService authService;
+
+    @MockBean
+    private UserRepository userRepository;
+
+    @MockBean
+    private UserPrincipalCache userPrincipalCache;
+
+    @MockBean
+    private LoginRateLimiter loginRateLimiter;
+
+    @MockBean
+    private TokenRevocationService tokenRevocationService;
+
+    @Test
+    void getPosts_ShouldReturnPlainArrayWithNextCursorHeader() throws Exception {
+        PostSummaryDto summary = new PostSummaryDto(1L, "Title", "Preview", Post.PostStatus.DRAFT,
+                null, null, LocalDateTime.of(2024, 1, 1, 12, 0), 0L, 0L, 0L, 0L);
+        when(postService.getPostsByUser(any(), isNull(), eq(1)))
+                .thenReturn(new CursorPage<>(List.of(summary), "next"));
+
+        mockMvc.perform(get("/api/posts").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(PostController.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$[0].id", is(1)))
+                .andExpect(jsonPath("$[0].content", is("Preview")));
+    }
+
+    @Test
+    void getPosts_WhenCursorIsMalformed_ShouldReturnBadRequest() throws Exception {
+        when(postService.getPostsByUser(any(), eq("not-a-cursor"), eq(PostService.DEFAULT_PAGE_SIZE)))
+                .thenThrow(new IllegalArgumentException("Invalid cursor"));
+
+        mockMvc.perform(get("/api/posts").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,93 @@
+package com.socialmedia.editor.filter;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachedBodyHttpServletRequestTest {
+
+    @Test
+    void constructor_WhenBodyFits_ShouldServeItAgain() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent("{\"username\":\"alice\"}".getBytes(StandardCharsets.UTF_8));
+
+        CachedBodyHttpServletRequest cached = new CachedBodyHttpServletRequest(request, 64);
+
+        assertThat(new String(cached.getBody(), StandardCharsets.UTF_8)).isEqualTo("{\"username\":\"alice\"}");
+        assertThat(cached.getReader().readLine()).isEqualTo("{\"username\":\"alice\"}");
+    }
+
+    @Test
+    void constructor_WhenContentLengthIsTooLarge_ShouldRefuseWithoutReading() {
+        MockHttpServletRequest request = new MockHttpServletRequest() {
+            @Override
+            public long getContentLengthLong() {
+                return 100_000;
+            }
+
+            @Override
+            public ServletInputStream getInputStream() {
+                throw new AssertionError("body should not be read");
+            }
+        };
+
+        assertThatThrownBy(() -> new CachedBodyHttpServletRequest(request, 64))
+                .isInstanceOf(CachedBodyHttpServletRequest.BodyTooLargeException.class);
+    }
+
+    @Test
+    void constructor_WhenBodyWithoutContentLengthIsTooLarge_ShouldRefuse() {
+        MockHttpServletRequest request = new MockHttpServletRequest() {
+            @Override
+            public long getContentLengthLong() {
+                return -1;
+            }
+        };
+        request.setContent(new byte[65]);
+
+        assertThatThrownBy(() -> new CachedBodyHttpServletRequest(request, 64))
+                .isInstanceOf(CachedBodyHttpServletRequest.BodyTooLargeException.class);
+    }
+
+    @Test
+    void setReadListener_ShouldDeliverTheWholeBodyRightAway() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setContent("hello".getBytes(StandardCharsets.UTF_8));
+        ServletInputStream input = new CachedBodyHttpServletRequest(request, 64).getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        List<String> events = new ArrayList<>();
+
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                events.add("data");
+                while (input.isReady() && !input.isFinished()) {
+                    read.write(input.read());
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                events.add("done");
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                events.add("error");
+            }
+        });
+
+        assertThat(events).containsExactly("data", "done");
+        assertThat(read.toString(StandardCharsets.UTF_8)).isEqualTo("hello");
+    }
+}
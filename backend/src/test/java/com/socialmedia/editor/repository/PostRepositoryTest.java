@@ -0,0 +1,94 @@
+package com.socialmedia.editor.repository;
+
+import com.socialmedia.editor.dto.DashboardStatsDto;
+import com.socialmedia.editor.model.Post;
+import com.socialmedia.editor.model.User;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class PostRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Test
+    void getPostStatisticsByUser_ShouldAggregateCountsAndPublishedEngagement() {
+        User user = entityManager.persistAndFlush(new User("statsuser", "stats@example.com", "password123"));
+        User other = entityManager.persistAndFlush(new User("otheruser", "other@example.com", "password123"));
+
+        entityManager.persist(new Post(user, "draft", Post.PostStatus.DRAFT));
+        entityManager.persist(new Post(user, "scheduled", Post.PostStatus.SCHEDULED));
+        entityManager.persist(publishedPost(user, 1L, 2L, 3L));
+        entityManager.persist(publishedPost(user, 10L, 20L, 30L));
+        entityManager.persist(publishedPost(other, 100L, 100L, 100L));
+        entityManager.flush();
+
+        DashboardStatsDto.PostStatisticsDto stats = postRepository.getPostStatisticsByUser(user);
+
+        assertThat(stats.getTotalPosts()).isEqualTo(4L);
+        assertThat(stats.getDraftPosts()).isEqualTo(1L);
+        assertThat(stats.getScheduledPosts()).isEqualTo(1L);
+        assertThat(stats.getPublishedPosts()).isEqualTo(2L);
+        assertThat(stats.getTotalLikes()).isEqualTo(11L);
+        assertThat(stats.getTotalShares()).isEqualTo(22L);
+        assertThat(stats.getTotalComments()).isEqualTo(33L);
+        assertThat(stats.getTotalEngagement()).isEqualTo(66L);
+    }
+
+    @Test
+    void getPostStatisticsByUser_WhenUserHasNoPosts_ShouldReturnZeros() {
+        User user = entityManager.persistAndFlush(new User("emptyuser", "empty@example.com", "password123"));
+
+        DashboardStatsDto.PostStatisticsDto stats = postRepository.getPostStatisticsByUser(user);
+
+        assertThat(stats.getTotalPosts()).isZero();
+        assertThat(stats.getDraftPosts()).isZero();
+        assertThat(stats.getScheduledPosts()).isZero();
+        assertThat(stats.getPublishedPosts()).isZero();
+        assertThat(stats.getTotalLikes()).isZero();
+        assertThat(stats.getTotalShares()).isZero();
+        assertThat(stats.getTotalComments()).isZero();
+        assertThat(stats.getTotalEngagement()).isZero();
+    }
+
+    @Test
+    void getPostStatisticsByUser_WithInFlightAndFailedPosts_ShouldCountThemOnlyInTotal() {
+        User user = entityManager.persistAndFlush(new User("mixeduser", "mixed@example.com", "password123"));
+
+        entityManager.persist(new Post(user, "claimed", Post.PostStatus.PUBLISHING));
+        Post failed = new Post(user, "failed", Post.PostStatus.FAILED);
+        failed.setLikesCount(50L);
+        failed.setEngagementCount(50L);
+        entityManager.persist(failed);
+        entityManager.persist(publishedPost(user, 4L, 5L, 6L));
+        entityManager.flush();
+
+        DashboardStatsDto.PostStatisticsDto stats = postRepository.getPostStatisticsByUser(user);
+
+        assertThat(stats.getTotalPosts()).isEqualTo(3L);
+        assertThat(stats.getDraftPosts()).isZero();
+        assertThat(stats.getScheduledPosts()).isZero();
+        assertThat(stats.getPublishedPosts()).isEqualTo(1L);
+        assertThat(stats.getTotalLikes()).isEqualTo(4L);
+        assertThat(stats.getTotalEngagement()).isEqualTo(15L);
+    }
+
+    private Post publishedPost(User user, Long likes, Long shares, Long comments) {
+        Post post = new Post(user, "published", Post.PostStatus.PUBLISHED);
+        post.setLikesCount(likes);
+        post.setSharesCount(shares);
+        post.setCommentsCount(comments);
+        post.setEngagementCount(likes + shares + comments);
+        return post;
+    }
+}
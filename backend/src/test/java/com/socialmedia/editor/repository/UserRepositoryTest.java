@@ -1,11 +1,14 @@
 package com.socialmedia.editor.repository;
 
+import com.socialmedia.editor.event.UserChangedEvent;
 import com.socialmedia.editor.model.User;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
 
 import java.util.Optional;
 
@@ -13,6 +16,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 @DataJpaTest
 @ActiveProfiles("test")
+@RecordApplicationEvents
 class UserRepositoryTest {
 
     @Autowired
@@ -21,6 +25,9 @@ class UserRepositoryTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
     @Test
     void findByUsername_WhenUserExists_ShouldReturnUser() {
         User user = new User("testuser", "test@example.com", "password123");
@@ -111,4 +118,17 @@ class UserRepositoryTest {
         Optional<User> found = userRepository.findById(userId);
         assertThat(found).isNotPresent();
     }
-}
\ No newline at end of file
+
+    @Test
+    void update_ShouldPublishUserChangedEvent() {
+        User user = entityManager.persistAndFlush(new User("changeduser", "changed@example.com", "password123"));
+        applicationEvents.clear();
+
+        user.setEmail("renamed@example.com");
+        userRepository.saveAndFlush(user);
+
+        assertThat(applicationEvents.stream(UserChangedEvent.class))
+                .extracting(UserChangedEvent::getUsername)
+                .containsExactly("changeduser");
+    }
+}
@@ -0,0 +1,158 @@
+package com.socialmedia.editor.service;
+
+import com.socialmedia.editor.config.GeminiConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AIResponseCacheTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private final Function<String, CompletableFuture<String>> model =
+            prompt -> CompletableFuture.completedFuture("reply " + calls.incrementAndGet());
+
+    private AIResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        GeminiConfig geminiConfig = new GeminiConfig();
+        ReflectionTestUtils.setField(geminiConfig, "model", "gemini-test");
+        ReflectionTestUtils.setField(geminiConfig, "temperature", 0.7);
+        cache = new AIResponseCache(geminiConfig, meterRegistry, new MockEnvironment(), 10_000, Duration.ofHours(1));
+    }
+
+    @Test
+    void get_WhenSamePromptRequestedAgain_ShouldServeCachedCompletion() {
+        String first = cache.get(AIResponseCache.Operation.HASHTAGS, "prompt", false, model).join();
+        String second = cache.get(AIResponseCache.Operation.HASHTAGS, "prompt", false, model).join();
+
+        assertThat(second).isEqualTo(first);
+        assertThat(calls).hasValue(1);
+        assertThat(meterRegistry.counter("ai.cache.saved.tokens").count()).isPositive();
+    }
+
+    @Test
+    void get_WhenOperationHasItsOwnTtl_ShouldExpireItSeparately() throws InterruptedException {
+        GeminiConfig geminiConfig = new GeminiConfig();
+        ReflectionTestUtils.setField(geminiConfig, "model", "gemini-test");
+        ReflectionTestUtils.setField(geminiConfig, "temperature", 0.7);
+        cache = new AIResponseCache(geminiConfig, meterRegistry,
+                new MockEnvironment().withProperty("ai.cache.ttl.hashtags", "1ms"), 10_000, Duration.ofHours(1));
+
+        cache.get(AIResponseCache.Operation.HASHTAGS, "hashtags prompt", false, model).join();
+        cache.get(AIResponseCache.Operation.VARIATIONS, "variations prompt", false, model).join();
+        Thread.sleep(50);
+        cache.get(AIResponseCache.Operation.HASHTAGS, "hashtags prompt", false, model).join();
+        cache.get(AIResponseCache.Operation.VARIATIONS, "variations prompt", false, model).join();
+
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void get_WhenPromptDiffers_ShouldCallModel() {
+        cache.get(AIResponseCache.Operation.HASHTAGS, "prompt", false, model).join();
+        cache.get(AIResponseCache.Operation.HASHTAGS, "other prompt", false, model).join();
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void get_WhenBypassed_ShouldRegenerateAndReplaceCachedCompletion() {
+        cache.get(AIResponseCache.Operation.VARIATIONS, "prompt", false, model).join();
+
+        String regenerated = cache.get(AIResponseCache.Operation.VARIATIONS, "prompt", true, model).join();
+        String cached = cache.get(AIResponseCache.Operation.VARIATIONS, "prompt", false, model).join();
+
+        assertThat(regenerated).isEqualTo("reply 2");
+        assertThat(cached).isEqualTo("reply 2");
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void get_WhenModelFails_ShouldNotCacheFailure() {
+        Function<String, CompletableFuture<String>> failing =
+                prompt -> CompletableFuture.failedFuture(new RuntimeException("quota exceeded"));
+
+        assertThatThrownBy(() -> cache.get(AIResponseCache.Operation.GENERATE, "prompt", false, failing).join())
+                .hasRootCauseMessage("quota exceeded");
+        assertThat(cache.get(AIResponseCache.Operation.GENERATE, "prompt", false, model).join()).isEqualTo("reply 1");
+    }
+
+    @Test
+    void get_WhenIdenticalRequestsOverlap_ShouldShareOneModelCall() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        Function<String, CompletableFuture<String>> slowModel = prompt -> {
+            calls.incrementAndGet();
+            return upstream;
+        };
+
+        CompletableFuture<String> first = cache.get(AIResponseCache.Operation.HASHTAGS, "prompt", false, slowModel);
+        CompletableFuture<String> second = cache.get(AIResponseCache.Operation.HASHTAGS, "prompt", false, slowModel);
+        upstream.complete("#shared");
+
+        assertThat(first.join()).isEqualTo("#shared");
+        assertThat(second.join()).isEqualTo("#shared");
+        assertThat(calls).hasValue(1);
+        assertThat(meterRegistry.counter("ai.requests.coalesced").count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("ai.requests.in.flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void get_WhenSharedCallFails_ShouldFailEveryCallerAndAllowRetry() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        Function<String, CompletableFuture<String>> failingModel = prompt -> upstream;
+
+        CompletableFuture<String> first = cache.get(AIResponseCache.Operation.GENERATE, "prompt", false, failingModel);
+        CompletableFuture<String> second = cache.get(AIResponseCache.Operation.GENERATE, "prompt", true, failingModel);
+        upstream.completeExceptionally(new RuntimeException("quota exceeded"));
+
+        assertThatThrownBy(first::join).hasRootCauseMessage("quota exceeded");
+        assertThatThrownBy(second::join).hasRootCauseMessage("quota exceeded");
+        assertThat(cache.get(AIResponseCache.Operation.GENERATE, "prompt", false, model).join()).isEqualTo("reply 1");
+    }
+
+    @Test
+    void get_WhenJoiningCallerIsTurnedAway_ShouldFailOnlyThatCaller() {
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        Function<String, CompletableFuture<String>> slowModel = prompt -> upstream;
+
+        CompletableFuture<String> leader = cache.get(AIResponseCache.Operation.GENERATE, "prompt", false,
+                () -> CompletableFuture.completedFuture(null), slowModel);
+        CompletableFuture<String> follower = cache.get(AIResponseCache.Operation.GENERATE, "prompt", false,
+                () -> CompletableFuture.failedFuture(new AIOverloadedException("busy")), slowModel);
+        upstream.complete("shared");
+
+        assertThatThrownBy(follower::join).hasRootCauseInstanceOf(AIOverloadedException.class);
+        assertThat(leader.join()).isEqualTo("shared");
+    }
+
+    @Test
+    void get_WhenLeaderIsShedButJoiningCallerWasAdmitted_ShouldRetryForThatCaller() {
+        CompletableFuture<String> shed = new CompletableFuture<>();
+        Function<String, CompletableFuture<String>> queuedModel = prompt ->
+                calls.incrementAndGet() == 1 ? shed : CompletableFuture.completedFuture("fresh");
+
+        CompletableFuture<String> leader = cache.get(AIResponseCache.Operation.VARIATIONS, "prompt", false,
+                () -> CompletableFuture.completedFuture(null), queuedModel);
+        CompletableFuture<String> follower = cache.get(AIResponseCache.Operation.VARIATIONS, "prompt", false,
+                () -> CompletableFuture.completedFuture(null), queuedModel);
+        shed.completeExceptionally(new AIOverloadedException("leader waited too long"));
+
+        assertThatThrownBy(leader::join).hasRootCauseInstanceOf(AIOverloadedException.class);
+        assertThat(follower.join()).isEqualTo("fresh");
+        assertThat(calls).hasValue(2);
+    }
+}
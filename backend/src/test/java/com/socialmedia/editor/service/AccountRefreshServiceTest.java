@@ -0,0 +1,97 @@
+package com.socialmedia.editor.service;
+
+import com.socialmedia.editor.dto.AccountRefreshJobDto;
+import com.socialmedia.editor.model.SocialMediaAccount;
+import com.socialmedia.editor.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccountRefreshServiceTest {
+
+    @Mock
+    private SocialMediaService socialMediaService;
+
+    private AccountRefreshService accountRefreshService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        accountRefreshService = new AccountRefreshService(socialMediaService, new SimpleMeterRegistry(),
+                4, 2, 10, Duration.ofMinutes(5));
+        user = new User("refreshuser", "refresh@example.com", "password123");
+        user.setId(1L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        accountRefreshService.shutdown();
+    }
+
+    @Test
+    void startRefresh_ShouldReportPerAccountOutcomes() throws InterruptedException {
+        when(socialMediaService.getActiveAccountsByUser(user))
+                .thenReturn(List.of(account(10L, SocialMediaAccount.Platform.LINKEDIN),
+                        account(11L, SocialMediaAccount.Platform.TWITTER)));
+        doThrow(new RuntimeException("LinkedIn returned no stats"))
+                .when(socialMediaService).refreshAccountStats(10L);
+
+        AccountRefreshJobDto started = accountRefreshService.startRefresh(user);
+        AccountRefreshJobDto job = awaitCompletion(started.getJobId());
+
+        assertThat(job.getAccounts()).hasSize(2);
+        assertThat(job.getAccounts().get(0).getStatus()).isEqualTo(AccountRefreshJobDto.AccountStatus.FAILED);
+        assertThat(job.getAccounts().get(0).getError()).isEqualTo("LinkedIn returned no stats");
+        assertThat(job.getAccounts().get(1).getStatus()).isEqualTo(AccountRefreshJobDto.AccountStatus.SUCCEEDED);
+        assertThat(job.getCompletedAt()).isNotNull();
+    }
+
+    @Test
+    void startRefresh_WhenNoAccounts_ShouldCompleteImmediately() {
+        when(socialMediaService.getActiveAccountsByUser(user)).thenReturn(List.of());
+
+        AccountRefreshJobDto job = accountRefreshService.startRefresh(user);
+
+        assertThat(job.getStatus()).isEqualTo(AccountRefreshJobDto.JobStatus.COMPLETED);
+    }
+
+    @Test
+    void getJob_WhenOwnedByAnotherUser_ShouldReturnEmpty() {
+        when(socialMediaService.getActiveAccountsByUser(user)).thenReturn(List.of());
+        AccountRefreshJobDto job = accountRefreshService.startRefresh(user);
+        User other = new User("otheruser", "other@example.com", "password123");
+        other.setId(2L);
+
+        assertThat(accountRefreshService.getJob(job.getJobId(), other)).isEmpty();
+    }
+
+    private AccountRefreshJobDto awaitCompletion(String jobId) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            AccountRefreshJobDto job = accountRefreshService.getJob(jobId, user).orElseThrow();
+            if (job.getStatus() == AccountRefreshJobDto.JobStatus.COMPLETED) {
+                return job;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Refresh job did not complete");
+    }
+
+    private SocialMediaAccount account(Long id, SocialMediaAccount.Platform platform) {
+        SocialMediaAccount account = new SocialMediaAccount(user, platform, "account-" + id);
+        account.setId(id);
+        return account;
+    }
+}
@@ -0,0 +1,88 @@
+package com.socialmedia.editor.service;
+
+import com.socialmedia.editor.model.SocialMediaAccount;
+import com.socialmedia.editor.repository.SocialMediaAccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AccountStatsSweeperTest {
+
+    @Mock
+    private RefreshLeaseService refreshLeaseService;
+
+    @Mock
+    private SocialMediaAccountRepository socialMediaAccountRepository;
+
+    @Mock
+    private SocialMediaService socialMediaService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private AccountStatsSweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        sweeper = new AccountStatsSweeper(refreshLeaseService, socialMediaAccountRepository, socialMediaService,
+                meterRegistry, new MockEnvironment(), 1, Duration.ofMinutes(3), Duration.ofHours(6),
+                10, 2, 60);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        sweeper.stop();
+    }
+
+    @Test
+    void sweep_WhenRefreshesAreSlow_ShouldReturnAndOnlyRenewLeasesUntilBatchFinishes() throws Exception {
+        SocialMediaAccount account = new SocialMediaAccount(null, SocialMediaAccount.Platform.LINKEDIN, "LinkedIn");
+        account.setId(10L);
+        when(refreshLeaseService.getNodeId()).thenReturn("node-a");
+        when(refreshLeaseService.rebalance(eq("node-a"), anyInt(), any())).thenReturn(List.of(0));
+        when(socialMediaAccountRepository.findStaleInShards(anyInt(), anyCollection(), any(), any()))
+                .thenReturn(List.of(account));
+        CountDownLatch started = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return null;
+        }).when(socialMediaService).refreshAccountStats(10L);
+
+        sweeper.sweep();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        sweeper.sweep();
+
+        verify(refreshLeaseService, times(2)).rebalance(eq("node-a"), anyInt(), any());
+        verify(socialMediaAccountRepository, times(1)).findStaleInShards(anyInt(), anyCollection(), any(), any());
+
+        release.countDown();
+        for (int i = 0; i < 250 && meterRegistry.counter("stats.refresh.accounts", "outcome", "refreshed").count() == 0; i++) {
+            Thread.sleep(20);
+        }
+        assertThat(meterRegistry.counter("stats.refresh.accounts", "outcome", "refreshed").count()).isEqualTo(1.0);
+    }
+}
@@ -2,15 +2,20 @@ package com.socialmedia.editor.service;
 
 import com.socialmedia.editor.model.User;
 import com.socialmedia.editor.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -25,6 +30,9 @@ class AuthServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private AuthService authService;
 
@@ -35,6 +43,9 @@ class AuthServiceTest {
         passwordEncoder = new BCryptPasswordEncoder();
         ReflectionTestUtils.setField(authService, "jwtSecret", "testSecretKeyForTestingThatIs32CharactersLong!");
         ReflectionTestUtils.setField(authService, "jwtExpirationMs", 86400000);
+        ReflectionTestUtils.setField(authService, "passwordHashingService",
+                new PasswordHashingService(new SimpleMeterRegistry(), 1, 4, 4, Duration.ofMillis(250),
+                        Duration.ofSeconds(5)));
     }
 
     @Test
@@ -163,6 +174,28 @@ class AuthServiceTest {
         assertThat(extractedUsername).isEqualTo(username);
     }
 
+    @Test
+    void verifyJwtToken_ShouldReturnSubjectAndTimestamps() {
+        String token = authService.generateJwtToken("testuser");
+
+        Claims claims = authService.verifyJwtToken(token);
+
+        assertThat(claims.getSubject()).isEqualTo("testuser");
+        assertThat(claims.getIssuedAt()).isNotNull();
+        assertThat(claims.getExpiration()).isAfter(claims.getIssuedAt());
+        assertThat(claims.get(TokenRevocationService.ISSUED_AT_MILLIS_CLAIM, Long.class) / 1000)
+                .isEqualTo(claims.getIssuedAt().getTime() / 1000);
+    }
+
+    @Test
+    void verifyJwtToken_WithTamperedToken_ShouldThrow() {
+        String token = authService.generateJwtToken("testuser");
+        String tampered = token.substring(0, token.length() - 2) + "xx";
+
+        assertThatThrownBy(() -> authService.verifyJwtToken(tampered))
+                .isInstanceOf(JwtException.class);
+    }
+
     @Test
     void validateJwtToken_WithValidToken_ShouldReturnTrue() {
         String username = "testuser";
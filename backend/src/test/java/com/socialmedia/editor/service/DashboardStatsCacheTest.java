@@ -0,0 +1,62 @@
+package com.socialmedia.editor.service;
+
+import com.socialmedia.editor.dto.DashboardStatsDto;
+import com.socialmedia.editor.event.AccountChangedEvent;
+import com.socialmedia.editor.event.PostChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DashboardStatsCacheTest {
+
+    private DashboardStatsCache cache;
+
+    private AtomicInteger computations;
+
+    @BeforeEach
+    void setUp() {
+        cache = new DashboardStatsCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+        computations = new AtomicInteger();
+    }
+
+    @Test
+    void get_WhenCached_ShouldNotRecompute() {
+        DashboardStatsDto first = cache.get(1L, this::compute);
+        DashboardStatsDto second = cache.get(1L, this::compute);
+
+        assertThat(second).isSameAs(first);
+        assertThat(computations).hasValue(1);
+    }
+
+    @Test
+    void onPostChanged_ShouldInvalidateOnlyThatUser() {
+        cache.get(1L, this::compute);
+        cache.get(2L, this::compute);
+
+        cache.onPostChanged(new PostChangedEvent(1L, 10L));
+        cache.get(1L, this::compute);
+        cache.get(2L, this::compute);
+
+        assertThat(computations).hasValue(3);
+    }
+
+    @Test
+    void onAccountChanged_ShouldInvalidateUser() {
+        cache.get(1L, this::compute);
+
+        cache.onAccountChanged(new AccountChangedEvent(1L, 5L));
+        cache.get(1L, this::compute);
+
+        assertThat(computations).hasValue(2);
+    }
+
+    private DashboardStatsDto compute() {
+        computations.incrementAndGet();
+        return new DashboardStatsDto();
+    }
+}
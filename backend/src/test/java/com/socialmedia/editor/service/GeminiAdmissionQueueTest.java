@@ -0,0 +1,142 @@
+package com.socialmedia.editor.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GeminiAdmissionQueueTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final List<String> started = new ArrayList<>();
+
+    @Test
+    void submit_WhenAtCapacity_ShouldServeWaitingUsersRoundRobin() throws Exception {
+        GeminiAdmissionQueue queue = queue(1, Duration.ofSeconds(10));
+        CompletableFuture<String> running = new CompletableFuture<>();
+        queue.submit(1L, GeminiAdmissionQueue.Priority.INTERACTIVE, () -> running);
+
+        List<CompletableFuture<String>> calls = new ArrayList<>();
+        calls.add(call(queue, 1L, "a1"));
+        calls.add(call(queue, 1L, "a2"));
+        calls.add(call(queue, 2L, "b1"));
+        assertThat(queue.queuedCount(GeminiAdmissionQueue.Priority.INTERACTIVE)).isEqualTo(3);
+
+        running.complete("done");
+
+        for (CompletableFuture<String> call : calls) {
+            call.get(5, TimeUnit.SECONDS);
+        }
+        assertThat(started).containsExactly("a1", "b1", "a2");
+        assertThat(queue.activeCount()).isZero();
+    }
+
+    @Test
+    void submit_WhenBothClassesWaiting_ShouldAdmitInteractiveFirst() throws Exception {
+        GeminiAdmissionQueue queue = queue(1, Duration.ofSeconds(10));
+        CompletableFuture<String> running = new CompletableFuture<>();
+        queue.submit(1L, GeminiAdmissionQueue.Priority.BULK, () -> running);
+
+        CompletableFuture<String> bulk = queue.submit(1L, GeminiAdmissionQueue.Priority.BULK, () -> start("bulk"));
+        CompletableFuture<String> interactive = call(queue, 2L, "interactive");
+        running.complete("done");
+
+        bulk.get(5, TimeUnit.SECONDS);
+        interactive.get(5, TimeUnit.SECONDS);
+        assertThat(started).containsExactly("interactive", "bulk");
+        assertThat(meterRegistry.timer("ai.admission.wait", "class", "interactive").count()).isEqualTo(1);
+    }
+
+    @Test
+    void submit_WhenQueuedPastTimeout_ShouldShedRequest() {
+        GeminiAdmissionQueue queue = queue(1, Duration.ofMillis(50));
+        queue.submit(1L, GeminiAdmissionQueue.Priority.INTERACTIVE, CompletableFuture::new);
+
+        CompletableFuture<String> waiting = call(queue, 2L, "late");
+
+        assertThatThrownBy(() -> waiting.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(AIOverloadedException.class);
+        assertThat(started).isEmpty();
+        assertThat(queue.queuedCount(GeminiAdmissionQueue.Priority.INTERACTIVE)).isZero();
+        assertThat(meterRegistry.counter("ai.admission.shed", "class", "interactive", "reason", "timeout").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void submit_WhenUserQueueFull_ShouldRejectImmediately() {
+        GeminiAdmissionQueue queue = new GeminiAdmissionQueue(meterRegistry, 1, 1, 3,
+                Duration.ofSeconds(10), Duration.ofSeconds(10));
+        queue.submit(1L, GeminiAdmissionQueue.Priority.INTERACTIVE, CompletableFuture::new);
+        call(queue, 1L, "queued");
+
+        CompletableFuture<String> rejected = call(queue, 1L, "rejected");
+        CompletableFuture<String> otherUser = call(queue, 2L, "other");
+
+        assertThat(rejected).isCompletedExceptionally();
+        assertThat(otherUser).isNotDone();
+        assertThat(meterRegistry.counter("ai.admission.shed", "class", "interactive", "reason", "queue_full").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    void submit_ShouldArmShedTimerOnlyWhileQueued() throws Exception {
+        GeminiAdmissionQueue queue = queue(1, Duration.ofSeconds(10));
+        ScheduledThreadPoolExecutor timers = (ScheduledThreadPoolExecutor) ReflectionTestUtils.getField(queue, "timeouts");
+        CompletableFuture<String> running = new CompletableFuture<>();
+        queue.submit(1L, GeminiAdmissionQueue.Priority.INTERACTIVE, () -> running);
+        assertThat(timers.getQueue()).isEmpty();
+
+        CompletableFuture<String> waiting = call(queue, 2L, "queued");
+        assertThat(timers.getQueue()).hasSize(1);
+
+        running.complete("done");
+        waiting.get(5, TimeUnit.SECONDS);
+        assertThat(timers.getQueue()).isEmpty();
+        queue.shutdown();
+    }
+
+    @Test
+    void awaitTurn_ShouldShedOnTheCallersOwnQueueAndNotKeepTheSlot() throws Exception {
+        GeminiAdmissionQueue queue = new GeminiAdmissionQueue(meterRegistry, 1, 1, 3,
+                Duration.ofSeconds(10), Duration.ofSeconds(10));
+        CompletableFuture<String> running = new CompletableFuture<>();
+        queue.submit(1L, GeminiAdmissionQueue.Priority.INTERACTIVE, () -> running);
+        call(queue, 2L, "queued");
+
+        CompletableFuture<Void> shed = queue.awaitTurn(2L, GeminiAdmissionQueue.Priority.INTERACTIVE);
+        CompletableFuture<Void> turn = queue.awaitTurn(3L, GeminiAdmissionQueue.Priority.INTERACTIVE);
+
+        assertThat(shed).isCompletedExceptionally();
+        running.complete("done");
+        turn.get(5, TimeUnit.SECONDS);
+        assertThat(queue.activeCount()).isZero();
+        queue.shutdown();
+    }
+
+    private GeminiAdmissionQueue queue(int maxConcurrency, Duration queueTimeout) {
+        return new GeminiAdmissionQueue(meterRegistry, maxConcurrency, 10, 3, queueTimeout, queueTimeout);
+    }
+
+    private CompletableFuture<String> call(GeminiAdmissionQueue queue, Long userId, String name) {
+        return queue.submit(userId, GeminiAdmissionQueue.Priority.INTERACTIVE, () -> start(name));
+    }
+
+    private CompletableFuture<String> start(String name) {
+        synchronized (started) {
+            started.add(name);
+        }
+        return CompletableFuture.completedFuture(name);
+    }
+}
@@ -0,0 +1,114 @@
+package com.socialmedia.editor.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LinkedInResilienceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final LinkedInResilience resilience = new LinkedInResilience(meterRegistry,
+            Duration.ofSeconds(1), 3, Duration.ofMillis(1), Duration.ofMillis(5),
+            Duration.ofSeconds(1), 3, Duration.ofMinutes(1));
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void idempotent_WhenServerErrorIsTransient_ShouldRetryUntilSuccess() {
+        Mono<String> call = Mono.defer(() -> calls.incrementAndGet() < 3
+                ? Mono.error(error(502, null))
+                : Mono.just("ok"));
+
+        assertThat(resilience.idempotent("profile", call).block()).isEqualTo("ok");
+        assertThat(calls).hasValue(3);
+        assertThat(meterRegistry.counter("linkedin.retries", "endpoint", "profile", "reason", "502").count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    void nonIdempotent_WhenServerErrors_ShouldNotRetry() {
+        Mono<String> call = Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.error(error(502, null));
+        });
+
+        assertThatThrownBy(() -> resilience.nonIdempotent("token", call).block())
+                .isInstanceOf(WebClientResponseException.class);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void nonIdempotent_WhenRateLimited_ShouldRetryAfterRequestedDelay() {
+        Mono<String> call = Mono.defer(() -> calls.incrementAndGet() == 1
+                ? Mono.error(error(429, "0"))
+                : Mono.just("ok"));
+
+        assertThat(resilience.nonIdempotent("token", call).block()).isEqualTo("ok");
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void idempotent_WhenRetryAfterExceedsLimit_ShouldFailWithoutWaiting() {
+        Mono<String> call = Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.error(error(429, "120"));
+        });
+
+        assertThatThrownBy(() -> resilience.idempotent("profile", call).block())
+                .isInstanceOf(WebClientResponseException.class);
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void idempotent_WhenUpstreamKeepsFailing_ShouldOpenCircuitAndFailFast() {
+        Mono<String> call = Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.error(error(503, null));
+        });
+
+        assertThatThrownBy(() -> resilience.idempotent("userinfo", call).block())
+                .isInstanceOf(LinkedInUnavailableException.class);
+        assertThat(calls).hasValue(3);
+        assertThat(resilience.getState("userinfo")).isEqualTo(CircuitBreaker.State.OPEN);
+
+        assertThatThrownBy(() -> resilience.idempotent("userinfo", call).block())
+                .isInstanceOf(LinkedInUnavailableException.class);
+        assertThat(calls).hasValue(3);
+        assertThat(resilience.getState("profile")).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(meterRegistry.get("linkedin.circuit.state").tag("endpoint", "userinfo").gauge().value())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    void idempotent_WhenTokenRejected_ShouldNotRetryOrCountAsFailure() {
+        Mono<String> call = Mono.defer(() -> {
+            calls.incrementAndGet();
+            return Mono.error(error(401, null));
+        });
+
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> resilience.idempotent("profile", call).block())
+                    .isInstanceOf(WebClientResponseException.class);
+        }
+        assertThat(calls).hasValue(5);
+        assertThat(resilience.getState("profile")).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    private WebClientResponseException error(int status, String retryAfter) {
+        HttpHeaders headers = new HttpHeaders();
+        if (retryAfter != null) {
+            headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
+        }
+        return WebClientResponseException.create(status, "error", headers, new byte[0], StandardCharsets.UTF_8);
+    }
+}
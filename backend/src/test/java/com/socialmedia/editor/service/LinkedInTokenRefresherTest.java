@@ -0,0 +1,98 @@
+package com.socialmedia.editor.service;
+
+import com.socialmedia.editor.model.SocialMediaAccount;
+import com.socialmedia.editor.repository.SocialMediaAccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LinkedInTokenRefresherTest {
+
+    @Mock
+    private LinkedInTokenService linkedInTokenService;
+
+    @Mock
+    private SocialMediaAccountRepository socialMediaAccountRepository;
+
+    @Mock
+    private RefreshLeaseService refreshLeaseService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private LinkedInTokenRefresher refresher;
+
+    @BeforeEach
+    void setUp() {
+        refresher = new LinkedInTokenRefresher(linkedInTokenService, socialMediaAccountRepository, refreshLeaseService,
+                meterRegistry, Duration.ofDays(3), 4, Duration.ofMinutes(20), 10, 2);
+        when(refreshLeaseService.getNodeId()).thenReturn("node-a");
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        refresher.stop();
+    }
+
+    @Test
+    void refreshExpiringTokens_WhenRefreshIsSlow_ShouldReturnAndOnlyRenewLeasesUntilBatchFinishes() throws Exception {
+        SocialMediaAccount account = new SocialMediaAccount(null, SocialMediaAccount.Platform.LINKEDIN, "LinkedIn");
+        account.setId(9L);
+        when(refreshLeaseService.rebalance(eq("node-a"), eq(4), any())).thenReturn(List.of(1, 3));
+        when(socialMediaAccountRepository.findRefreshableTokensExpiringInShards(
+                eq(SocialMediaAccount.Platform.LINKEDIN), eq(4), eq(List.of(1, 3)), any(), any(), any()))
+                .thenReturn(List.of(account));
+        CountDownLatch started = new CountDownLatch(1);
+        when(linkedInTokenService.refreshAccessToken(account)).thenReturn(Mono.fromCallable(() -> {
+            started.countDown();
+            release.await();
+            return "renewed";
+        }));
+
+        refresher.refreshExpiringTokens();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        refresher.refreshExpiringTokens();
+
+        verify(refreshLeaseService, times(2)).rebalance(eq("node-a"), anyInt(), any());
+        verify(socialMediaAccountRepository, times(1))
+                .findRefreshableTokensExpiringInShards(any(), anyInt(), any(), any(), any(), any());
+
+        release.countDown();
+        for (int i = 0; i < 250 && meterRegistry.counter("linkedin.token.refresh.proactive", "outcome", "refreshed").count() == 0; i++) {
+            Thread.sleep(20);
+        }
+        assertThat(meterRegistry.counter("linkedin.token.refresh.proactive", "outcome", "refreshed").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void refreshExpiringTokens_WhenNodeOwnsNoShards_ShouldNotLookForTokens() {
+        when(refreshLeaseService.rebalance(eq("node-a"), anyInt(), any())).thenReturn(List.of());
+
+        refresher.refreshExpiringTokens();
+
+        verify(socialMediaAccountRepository, never())
+                .findRefreshableTokensExpiringInShards(any(), anyInt(), any(), any(), any(), any());
+    }
+}
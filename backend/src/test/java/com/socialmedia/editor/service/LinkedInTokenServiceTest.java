@@ -0,0 +1,119 @@
+package com.socialmedia.editor.service;
+
+import com.socialmedia.editor.dto.LinkedInTokenResponseDto;
+import com.socialmedia.editor.model.SocialMediaAccount;
+import com.socialmedia.editor.repository.SocialMediaAccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LinkedInTokenServiceTest {
+
+    @Mock
+    private LinkedInConnectorService linkedInConnectorService;
+
+    @Mock
+    private SocialMediaAccountRepository socialMediaAccountRepository;
+
+    private LinkedInTokenService linkedInTokenService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private SocialMediaAccount account;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        linkedInTokenService = new LinkedInTokenService(meterRegistry);
+        ReflectionTestUtils.setField(linkedInTokenService, "linkedInConnectorService", linkedInConnectorService);
+        ReflectionTestUtils.setField(linkedInTokenService, "socialMediaAccountRepository", socialMediaAccountRepository);
+        account = new SocialMediaAccount(null, SocialMediaAccount.Platform.LINKEDIN, "LinkedIn");
+        account.setId(1L);
+        account.setAccessToken("old-token");
+        account.setRefreshToken("refresh-token");
+    }
+
+    @Test
+    void withAccessToken_WhenTokenAccepted_ShouldNotRefresh() {
+        String result = linkedInTokenService.withAccessToken(account, token -> Mono.just("ok:" + token)).block();
+
+        assertThat(result).isEqualTo("ok:old-token");
+        verify(linkedInConnectorService, never()).refreshAccessToken(any());
+    }
+
+    @Test
+    void withAccessToken_WhenTokenRejected_ShouldRefreshAndRetryOnce() {
+        when(linkedInConnectorService.refreshAccessToken("refresh-token")).thenReturn(Mono.just(tokenResponse("new-token")));
+        List<String> tokensUsed = new ArrayList<>();
+
+        String result = linkedInTokenService.withAccessToken(account, token -> {
+            tokensUsed.add(token);
+            return "old-token".equals(token)
+                    ? Mono.error(new LinkedInTokenExpiredException("rejected"))
+                    : Mono.just("ok:" + token);
+        }).block();
+
+        assertThat(result).isEqualTo("ok:new-token");
+        assertThat(tokensUsed).containsExactly("old-token", "new-token");
+        assertThat(account.getAccessTokenExpiresAt()).isNotNull();
+        verify(socialMediaAccountRepository).save(account);
+    }
+
+    @Test
+    void withAccessToken_WhenRefreshedTokenAlsoRejected_ShouldFailWithoutFurtherRetries() {
+        when(linkedInConnectorService.refreshAccessToken("refresh-token")).thenReturn(Mono.just(tokenResponse("new-token")));
+
+        Mono<String> call = linkedInTokenService.withAccessToken(account,
+                token -> Mono.error(new LinkedInTokenExpiredException("rejected")));
+
+        assertThatThrownBy(call::block).isInstanceOf(LinkedInTokenExpiredException.class);
+        verify(linkedInConnectorService, times(1)).refreshAccessToken("refresh-token");
+    }
+
+    @Test
+    void refreshAccessToken_WhenCalledConcurrently_ShouldShareOneExchange() throws Exception {
+        Sinks.One<LinkedInTokenResponseDto> exchange = Sinks.one();
+        when(linkedInConnectorService.refreshAccessToken("refresh-token")).thenReturn(exchange.asMono());
+        SocialMediaAccount sameAccountElsewhere = new SocialMediaAccount(null, SocialMediaAccount.Platform.LINKEDIN, "LinkedIn");
+        sameAccountElsewhere.setId(1L);
+        sameAccountElsewhere.setAccessToken("old-token");
+        sameAccountElsewhere.setRefreshToken("refresh-token");
+
+        CompletableFuture<String> first = linkedInTokenService.refreshAccessToken(account).toFuture();
+        CompletableFuture<String> second = linkedInTokenService.refreshAccessToken(sameAccountElsewhere).toFuture();
+        exchange.tryEmitValue(tokenResponse("new-token"));
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("new-token");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("new-token");
+        assertThat(sameAccountElsewhere.getAccessToken()).isEqualTo("new-token");
+        verify(linkedInConnectorService, times(1)).refreshAccessToken("refresh-token");
+        assertThat(meterRegistry.counter("linkedin.token.refresh", "result", "coalesced").count()).isEqualTo(1.0);
+    }
+
+    private LinkedInTokenResponseDto tokenResponse(String accessToken) {
+        LinkedInTokenResponseDto response = new LinkedInTokenResponseDto();
+        response.setAccessToken(accessToken);
+        response.setExpiresIn(5184000);
+        return response;
+    }
+}
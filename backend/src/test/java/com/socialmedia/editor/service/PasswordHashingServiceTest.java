@@ -0,0 +1,87 @@
+package com.socialmedia.editor.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PasswordHashingServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private PasswordHashingService passwordHashingService;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        passwordHashingService.shutdown();
+    }
+
+    @Test
+    void matches_WhenPoolAndQueueAreFull_ShouldFailFast() throws Exception {
+        passwordHashingService = new PasswordHashingService(meterRegistry, 1, 1, 4, Duration.ofMillis(250),
+                Duration.ofSeconds(5));
+        String hash = new BCryptPasswordEncoder(4).encode("password123");
+        occupy(2);
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> passwordHashingService.matches("password123", hash))
+                .isInstanceOf(PasswordHashingSaturatedException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(meterRegistry.counter("auth.password.hash.rejected").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void matches_WhenHashDoesNotFinishInTime_ShouldGiveUpWaiting() throws Exception {
+        passwordHashingService = new PasswordHashingService(meterRegistry, 1, 4, 4, Duration.ofMillis(250),
+                Duration.ofMillis(100));
+        String hash = new BCryptPasswordEncoder(4).encode("password123");
+        occupy(1);
+
+        assertThatThrownBy(() -> passwordHashingService.matches("password123", hash))
+                .isInstanceOf(PasswordHashingSaturatedException.class)
+                .hasMessageContaining("did not finish in time");
+        assertThat(meterRegistry.counter("auth.password.hash.rejected").count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void matches_WhenCapacityIsFree_ShouldVerify() {
+        passwordHashingService = new PasswordHashingService(meterRegistry, 1, 1, 4, Duration.ofMillis(250),
+                Duration.ofSeconds(5));
+        String hash = passwordHashingService.encode("password123");
+
+        assertThat(passwordHashingService.matches("password123", hash)).isTrue();
+        assertThat(passwordHashingService.matches("wrong", hash)).isFalse();
+    }
+
+    /**
+     * Fills {@code tasks} slots of the hashing pool and its queue with work that waits for
+     * {@link #release}.
+     */
+    private void occupy(int tasks) throws InterruptedException {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) ReflectionTestUtils.getField(passwordHashingService, "executor");
+        CountDownLatch running = new CountDownLatch(1);
+        for (int i = 0; i < tasks; i++) {
+            executor.execute(() -> {
+                running.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+}
@@ -0,0 +1,208 @@
+package com.socialmedia.editor.service;
+
+import com.socialmedia.editor.connector.AccountStats;
+import com.socialmedia.editor.connector.PlatformConnector;
+import com.socialmedia.editor.connector.PlatformConnectorRegistry;
+import com.socialmedia.editor.model.Post;
+import com.socialmedia.editor.model.PostPlatform;
+import com.socialmedia.editor.model.SocialMediaAccount;
+import com.socialmedia.editor.model.User;
+import com.socialmedia.editor.repository.SocialMediaAccountRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PlatformFanOutServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PlatformConnectorRegistry registry;
+
+    private PlatformFanOutService fanOut;
+
+    @Mock
+    private PostPlatformService postPlatformService;
+
+    @Mock
+    private SocialMediaAccountRepository socialMediaAccountRepository;
+
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User("author", "author@example.com", "password");
+        user.setId(1L);
+        post = new Post(user, "hello", Post.PostStatus.PUBLISHING);
+        post.setId(10L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        fanOut.shutdown();
+        registry.shutdown();
+    }
+
+    @Test
+    void publishToPlatforms_WhenOnePlatformIsSlow_ShouldNotDelayTheOthers() throws Exception {
+        fanOut("10s");
+        targets(SocialMediaAccount.Platform.LINKEDIN, SocialMediaAccount.Platform.FACEBOOK);
+        accounts(SocialMediaAccount.Platform.LINKEDIN, SocialMediaAccount.Platform.FACEBOOK);
+
+        CompletableFuture<Void> done = fanOut.publishToPlatforms(post);
+
+        verify(postPlatformService, timeout(2000)).markAsPublished(post, SocialMediaAccount.Platform.FACEBOOK);
+        assertThat(done).isNotDone();
+        verify(postPlatformService, never()).markAsPublished(post, SocialMediaAccount.Platform.LINKEDIN);
+
+        release.countDown();
+        done.get(5, TimeUnit.SECONDS);
+        verify(postPlatformService).markAsPublished(post, SocialMediaAccount.Platform.LINKEDIN);
+        verify(postPlatformService, never()).markAsFailed(any(), any());
+    }
+
+    @Test
+    void publishToPlatforms_WhenPlatformDoesNotAnswerInTime_ShouldMarkItUnknownOnRecorderThread() throws Exception {
+        fanOut("200ms");
+        targets(SocialMediaAccount.Platform.LINKEDIN, SocialMediaAccount.Platform.FACEBOOK);
+        accounts(SocialMediaAccount.Platform.LINKEDIN, SocialMediaAccount.Platform.FACEBOOK);
+        AtomicReference<String> recordedOn = new AtomicReference<>();
+        when(postPlatformService.markAsUnknown(post, SocialMediaAccount.Platform.LINKEDIN)).thenAnswer(invocation -> {
+            recordedOn.set(Thread.currentThread().getName());
+            return null;
+        });
+
+        fanOut.publishToPlatforms(post).get(5, TimeUnit.SECONDS);
+
+        verify(postPlatformService).markAsUnknown(post, SocialMediaAccount.Platform.LINKEDIN);
+        verify(postPlatformService, never()).markAsFailed(any(), any());
+        verify(postPlatformService).markAsPublished(post, SocialMediaAccount.Platform.FACEBOOK);
+        assertThat(recordedOn.get()).startsWith("fan-out-recorder-");
+        assertThat(meterRegistry.get("posts.platform.publish")
+                .tag("platform", "linkedin").tag("outcome", "unknown").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void publishToPlatforms_WhenEarlierOutcomeIsUnknown_ShouldNotPublishAgain() throws Exception {
+        fanOut("10s");
+        PostPlatform unknown = new PostPlatform(post, SocialMediaAccount.Platform.LINKEDIN);
+        unknown.setPublishStatus(PostPlatform.PublishStatus.UNKNOWN);
+        when(postPlatformService.getEnabledPostPlatforms(post)).thenReturn(List.of(unknown));
+        accounts(SocialMediaAccount.Platform.LINKEDIN);
+
+        fanOut.publishToPlatforms(post).get(5, TimeUnit.SECONDS);
+
+        verify(postPlatformService, never()).markAsPublished(any(), any());
+        verify(postPlatformService, never()).markAsUnknown(any(), any());
+    }
+
+    @Test
+    void publishToPlatforms_WhenNoAccountIsConnected_ShouldMarkThatPlatformFailed() throws Exception {
+        fanOut("10s");
+        targets(SocialMediaAccount.Platform.LINKEDIN, SocialMediaAccount.Platform.FACEBOOK);
+        accounts(SocialMediaAccount.Platform.FACEBOOK);
+
+        fanOut.publishToPlatforms(post).get(5, TimeUnit.SECONDS);
+
+        verify(postPlatformService).markAsFailed(post, SocialMediaAccount.Platform.LINKEDIN);
+        verify(postPlatformService).markAsPublished(post, SocialMediaAccount.Platform.FACEBOOK);
+    }
+
+    private void fanOut(String linkedInTimeout) {
+        registry = new PlatformConnectorRegistry(
+                List.of(new TestConnector(SocialMediaAccount.Platform.LINKEDIN, release),
+                        new TestConnector(SocialMediaAccount.Platform.FACEBOOK, null)),
+                meterRegistry, new MockEnvironment().withProperty("connectors.linkedin.timeout", linkedInTimeout),
+                1, 1, Duration.ofSeconds(30));
+        fanOut = new PlatformFanOutService(postPlatformService, socialMediaAccountRepository, registry,
+                meterRegistry, 2);
+    }
+
+    private void targets(SocialMediaAccount.Platform... platforms) {
+        List<PostPlatform> targets = Arrays.stream(platforms)
+                .map(platform -> new PostPlatform(post, platform))
+                .toList();
+        when(postPlatformService.getEnabledPostPlatforms(post)).thenReturn(targets);
+    }
+
+    private void accounts(SocialMediaAccount.Platform... platforms) {
+        List<SocialMediaAccount> accounts = Arrays.stream(platforms)
+                .map(platform -> new SocialMediaAccount(post.getUser(), platform, platform.name()))
+                .toList();
+        when(socialMediaAccountRepository.findByUserIdAndIsActiveTrue(1L)).thenReturn(accounts);
+    }
+
+    private static class TestConnector implements PlatformConnector {
+
+        private final SocialMediaAccount.Platform platform;
+
+        private final CountDownLatch release;
+
+        TestConnector(SocialMediaAccount.Platform platform, CountDownLatch release) {
+            this.platform = platform;
+            this.release = release;
+        }
+
+        @Override
+        public SocialMediaAccount.Platform getPlatform() {
+            return platform;
+        }
+
+        @Override
+        public AccountStats fetchStats(SocialMediaAccount account) {
+            await();
+            return new AccountStats(1, 2, 3);
+        }
+
+        @Override
+        public void refreshToken(SocialMediaAccount account) {
+            await();
+        }
+
+        @Override
+        public String publish(SocialMediaAccount account, String content) {
+            await();
+            return platform.name().toLowerCase() + "-post";
+        }
+
+        @Override
+        public boolean validate(SocialMediaAccount account) {
+            await();
+            return true;
+        }
+
+        private void await() {
+            if (release == null) {
+                return;
+            }
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.socialmedia.editor.service;
+
+import com.socialmedia.editor.dto.CursorPage;
+import com.socialmedia.editor.dto.PostSummaryDto;
+import com.socialmedia.editor.model.Post;
+import com.socialmedia.editor.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(PostService.class)
+class PostServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PostService postService;
+
+    @MockBean
+    private PlatformFanOutService platformFanOutService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = entityManager.persistAndFlush(new User("postuser", "post@example.com", "password123"));
+    }
+
+    @Test
+    void getPostsByUser_WhenPostsShareCreatedAt_ShouldPageByIdWithoutGapsOrRepeats() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(entityManager.persist(new Post(user, "post " + i, Post.PostStatus.DRAFT)).getId());
+        }
+        entityManager.flush();
+        entityManager.getEntityManager()
+                .createQuery("UPDATE Post p SET p.createdAt = :createdAt WHERE p.user = :user")
+                .setParameter("createdAt", LocalDateTime.of(2024, 1, 1, 12, 0))
+                .setParameter("user", user)
+                .executeUpdate();
+        entityManager.clear();
+        Collections.reverse(ids);
+
+        CursorPage<PostSummaryDto> first = postService.getPostsByUser(user, null, 2);
+        CursorPage<PostSummaryDto> second = postService.getPostsByUser(user, first.getNextCursor(), 2);
+        CursorPage<PostSummaryDto> last = postService.getPostsByUser(user, second.getNextCursor(), 2);
+
+        assertThat(first.getItems()).extracting(PostSummaryDto::getId).containsExactlyElementsOf(ids.subList(0, 2));
+        assertThat(second.getItems()).extracting(PostSummaryDto::getId).containsExactlyElementsOf(ids.subList(2, 4));
+        assertThat(last.getItems()).extracting(PostSummaryDto::getId).containsExactly(ids.get(4));
+        assertThat(last.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getPostsByUser_WhenLastPageIsFull_ShouldReturnNoCursor() {
+        entityManager.persist(new Post(user, "first", Post.PostStatus.DRAFT));
+        entityManager.persist(new Post(user, "second", Post.PostStatus.DRAFT));
+        entityManager.flush();
+
+        CursorPage<PostSummaryDto> page = postService.getPostsByUser(user, null, 2);
+
+        assertThat(page.getItems()).hasSize(2);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void getPostsByUser_ShouldClampPageSize() {
+        for (int i = 0; i <= PostService.MAX_PAGE_SIZE; i++) {
+            entityManager.persist(new Post(user, "post " + i, Post.PostStatus.DRAFT));
+        }
+        entityManager.flush();
+
+        assertThat(postService.getPostsByUser(user, null, 0).getItems()).hasSize(PostService.DEFAULT_PAGE_SIZE);
+        CursorPage<PostSummaryDto> capped = postService.getPostsByUser(user, null, 10_000);
+        assertThat(capped.getItems()).hasSize(PostService.MAX_PAGE_SIZE);
+        assertThat(capped.getNextCursor()).isNotNull();
+    }
+
+    @Test
+    void getPostsByUser_WhenCursorIsMalformed_ShouldRejectIt() {
+        assertThatThrownBy(() -> postService.getPostsByUser(user, "not-a-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Invalid cursor");
+    }
+
+    @Test
+    void claimDueScheduledPosts_ShouldClaimDuePostsOldestFirstUpToLimit() {
+        Post older = scheduled(LocalDateTime.now().minusMinutes(10));
+        Post newer = scheduled(LocalDateTime.now().minusMinutes(5));
+        scheduled(LocalDateTime.now().plusMinutes(30));
+        entityManager.clear();
+
+        List<Post> first = postService.claimDueScheduledPosts(1);
+        entityManager.flush();
+        entityManager.clear();
+        List<Post> second = postService.claimDueScheduledPosts(10);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(first).extracting(Post::getId).containsExactly(older.getId());
+        assertThat(second).extracting(Post::getId).containsExactly(newer.getId());
+        assertThat(statusOf(older)).isEqualTo(Post.PostStatus.PUBLISHING);
+        assertThat(postService.claimDueScheduledPosts(10)).isEmpty();
+    }
+
+    @Test
+    void releaseStaleClaims_ShouldLetThePostBeReclaimedAndPublishedOnlyOnce() {
+        Post post = scheduled(LocalDateTime.now().minusMinutes(1));
+        entityManager.clear();
+        postService.claimDueScheduledPosts(10);
+        entityManager.flush();
+        entityManager.clear();
+
+        int released = postService.releaseStaleClaims(LocalDateTime.now().plusMinutes(1));
+        entityManager.clear();
+        List<Post> reclaimed = postService.claimDueScheduledPosts(10);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(released).isEqualTo(1);
+        assertThat(reclaimed).extracting(Post::getId).containsExactly(post.getId());
+        assertThat(postService.publishScheduledPost(post.getId())).isPresent();
+        // the node whose claim went stale finds the post already published
+        assertThat(postService.publishScheduledPost(post.getId())).isEmpty();
+        assertThat(statusOf(post)).isEqualTo(Post.PostStatus.PUBLISHED);
+    }
+
+    @Test
+    void publishScheduledPost_WhenPostWasUnscheduledAfterClaim_ShouldSkipIt() {
+        Post post = scheduled(LocalDateTime.now().minusMinutes(1));
+        entityManager.clear();
+        postService.claimDueScheduledPosts(10);
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.find(Post.class, post.getId()).setStatus(Post.PostStatus.DRAFT);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(postService.publishScheduledPost(post.getId())).isEmpty();
+        assertThat(statusOf(post)).isEqualTo(Post.PostStatus.DRAFT);
+    }
+
+    private Post scheduled(LocalDateTime scheduledTime) {
+        Post post = new Post(user, "scheduled for " + scheduledTime, Post.PostStatus.SCHEDULED);
+        post.setScheduledTime(scheduledTime);
+        return entityManager.persistAndFlush(post);
+    }
+
+    private Post.PostStatus statusOf(Post post) {
+        entityManager.clear();
+        return entityManager.find(Post.class, post.getId()).getStatus();
+    }
+}
@@ -0,0 +1,61 @@
+package com.socialmedia.editor.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(RefreshLeaseService.class)
+class RefreshLeaseServiceTest {
+
+    private static final int SHARDS = 8;
+
+    private static final Duration LEASE = Duration.ofMinutes(3);
+
+    @Autowired
+    private RefreshLeaseService refreshLeaseService;
+
+    @BeforeEach
+    void setUp() {
+        refreshLeaseService.ensureShards(SHARDS);
+    }
+
+    @Test
+    void rebalance_WhenSingleNode_ShouldOwnAllShards() {
+        List<Integer> owned = refreshLeaseService.rebalance("node-a", SHARDS, LEASE);
+
+        assertThat(owned).hasSize(SHARDS);
+    }
+
+    @Test
+    void rebalance_WhenSecondNodeJoins_ShouldSplitShardsWithoutOverlap() {
+        refreshLeaseService.rebalance("node-a", SHARDS, LEASE);
+
+        // node-b finds nothing free at first; node-a then gives up its surplus
+        refreshLeaseService.rebalance("node-b", SHARDS, LEASE);
+        List<Integer> ownedByA = refreshLeaseService.rebalance("node-a", SHARDS, LEASE);
+        List<Integer> ownedByB = refreshLeaseService.rebalance("node-b", SHARDS, LEASE);
+
+        assertThat(ownedByA).hasSize(SHARDS / 2);
+        assertThat(ownedByB).hasSize(SHARDS / 2);
+        assertThat(ownedByA).doesNotContainAnyElementsOf(ownedByB);
+    }
+
+    @Test
+    void rebalance_WhenLeaseExpired_ShouldLetAnotherNodeTakeOver() {
+        refreshLeaseService.rebalance("node-a", SHARDS, Duration.ofMillis(-1));
+
+        List<Integer> ownedByB = refreshLeaseService.rebalance("node-b", SHARDS, LEASE);
+
+        assertThat(ownedByB).hasSize(SHARDS);
+    }
+}
@@ -0,0 +1,96 @@
+package com.socialmedia.editor.service;
+
+import com.socialmedia.editor.event.PostScheduledEvent;
+import com.socialmedia.editor.model.Post;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduledPublishingServiceTest {
+
+    @Mock
+    private PostService postService;
+
+    @Mock
+    private PlatformFanOutService platformFanOutService;
+
+    private ScheduledPublishingService scheduledPublishingService;
+
+    private Post post;
+
+    @BeforeEach
+    void setUp() {
+        scheduledPublishingService = new ScheduledPublishingService(postService, platformFanOutService,
+                new SimpleMeterRegistry(), Duration.ofMinutes(10), Duration.ofMinutes(10), 10, 2, 10);
+        post = new Post(null, "due now", Post.PostStatus.SCHEDULED);
+        post.setId(5L);
+        post.setScheduledTime(LocalDateTime.now());
+        when(postService.getScheduledPostsDueBefore(any())).thenReturn(List.of());
+        when(postService.claimDueScheduledPosts(anyInt())).thenReturn(List.of(post)).thenReturn(List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduledPublishingService.stop();
+    }
+
+    @Test
+    void dispatcher_WhenPostFallsDue_ShouldClaimPublishAndFanOut() {
+        Post publishedPost = new Post(null, "due now", Post.PostStatus.PUBLISHED);
+        publishedPost.setId(5L);
+        publishedPost.setPublishedAt(LocalDateTime.now());
+        when(postService.publishScheduledPost(5L)).thenReturn(Optional.of(publishedPost));
+        when(platformFanOutService.publishToPlatforms(publishedPost)).thenReturn(CompletableFuture.completedFuture(null));
+
+        scheduledPublishingService.start();
+        scheduledPublishingService.onPostScheduled(new PostScheduledEvent(5L, post.getScheduledTime()));
+
+        verify(platformFanOutService, timeout(5000)).publishToPlatforms(publishedPost);
+    }
+
+    @Test
+    void dispatcher_WhenClaimWasLostBeforePublishing_ShouldNotFanOut() {
+        when(postService.publishScheduledPost(5L)).thenReturn(Optional.empty());
+
+        scheduledPublishingService.start();
+        scheduledPublishingService.onPostScheduled(new PostScheduledEvent(5L, post.getScheduledTime()));
+
+        verify(postService, timeout(5000)).publishScheduledPost(5L);
+        verify(platformFanOutService, never()).publishToPlatforms(any());
+        verify(postService, never()).markPublishFailed(any());
+    }
+
+    @Test
+    void dispatcher_WhenFanOutFailsAfterPublishing_ShouldNotMarkThePostFailed() {
+        Post publishedPost = new Post(null, "due now", Post.PostStatus.PUBLISHED);
+        publishedPost.setId(5L);
+        publishedPost.setPublishedAt(LocalDateTime.now());
+        when(postService.publishScheduledPost(5L)).thenReturn(Optional.of(publishedPost));
+        when(platformFanOutService.publishToPlatforms(publishedPost)).thenThrow(new RuntimeException("database down"));
+
+        scheduledPublishingService.start();
+        scheduledPublishingService.onPostScheduled(new PostScheduledEvent(5L, post.getScheduledTime()));
+
+        verify(platformFanOutService, timeout(5000)).publishToPlatforms(publishedPost);
+        verify(postService, after(200).never()).markPublishFailed(any());
+    }
+}
@@ -0,0 +1,55 @@
+package com.socialmedia.editor.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000_000_000L);
+
+    private final TokenBucketRateLimiter limiter =
+            new TokenBucketRateLimiter(3, Duration.ofSeconds(3), clock::get);
+
+    @Test
+    void tryAcquire_WithinBurst_ShouldGrant() {
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isZero();
+    }
+
+    @Test
+    void tryAcquire_BeyondBurst_ShouldReturnWaitUntilNextToken() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("alice");
+        }
+
+        assertThat(limiter.tryAcquire("alice")).isEqualTo(Duration.ofSeconds(1).toNanos());
+        assertThat(limiter.tryAcquire("bob")).isZero();
+    }
+
+    @Test
+    void tryAcquire_AfterRefill_ShouldGrantAgain() {
+        for (int i = 0; i < 3; i++) {
+            limiter.tryAcquire("alice");
+        }
+
+        clock.addAndGet(Duration.ofSeconds(1).toNanos());
+
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isPositive();
+    }
+
+    @Test
+    void evictIdle_ShouldDropOnlyFullyRefilledBuckets() {
+        limiter.tryAcquire("alice");
+        clock.addAndGet(Duration.ofSeconds(2).toNanos());
+        limiter.tryAcquire("bob");
+
+        assertThat(limiter.evictIdle()).isEqualTo(1);
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,99 @@
+package com.socialmedia.editor.service;
+
+import com.socialmedia.editor.model.User;
+import com.socialmedia.editor.repository.RevokedTokenRepository;
+import com.socialmedia.editor.repository.UserRepository;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationService = new TokenRevocationService(revokedTokenRepository, userRepository,
+                new SimpleMeterRegistry(), 86400000L);
+    }
+
+    @Test
+    void revokeToken_ShouldDenyOnlyThatToken() {
+        Claims revoked = claims("jti-1", "testuser", new Date());
+        Claims other = claims("jti-2", "testuser", new Date());
+
+        tokenRevocationService.revokeToken(revoked);
+
+        assertThat(tokenRevocationService.isRevoked(revoked)).isTrue();
+        assertThat(tokenRevocationService.isRevoked(other)).isFalse();
+        verify(revokedTokenRepository).save(any());
+    }
+
+    @Test
+    void revokeAllSessions_ShouldDenyTokensIssuedBefore() {
+        User cached = new User("testuser", "test@example.com", "encoded");
+        cached.setId(1L);
+        User user = new User("testuser", "test@example.com", "encoded");
+        user.setId(1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        Claims earlier = claims("jti-1", "testuser", new Date(System.currentTimeMillis() - 60_000));
+        Claims otherUser = claims("jti-2", "otheruser", new Date(System.currentTimeMillis() - 60_000));
+
+        tokenRevocationService.revokeAllSessions(cached);
+
+        assertThat(tokenRevocationService.isRevoked(earlier)).isTrue();
+        assertThat(tokenRevocationService.isRevoked(otherUser)).isFalse();
+        assertThat(user.getTokensValidAfter()).isNotNull();
+        assertThat(cached.getTokensValidAfter()).isNull();
+        verify(userRepository).save(user);
+    }
+
+    @Test
+    void revokeAllSessions_WhenUserLogsInAgainWithinTheSameSecond_ShouldOnlyDenyEarlierTokens() {
+        User user = new User("testuser", "test@example.com", "encoded");
+        user.setId(1L);
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        tokenRevocationService.revokeAllSessions(user);
+        long watermark = user.getTokensValidAfter().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        Claims before = claims("jti-1", "testuser", new Date(watermark - 1));
+        before.put(TokenRevocationService.ISSUED_AT_MILLIS_CLAIM, watermark - 1);
+        Claims relogin = claims("jti-2", "testuser", new Date(watermark));
+        relogin.put(TokenRevocationService.ISSUED_AT_MILLIS_CLAIM, watermark);
+        Claims legacy = claims("jti-3", "testuser", new Date(watermark));
+
+        assertThat(tokenRevocationService.isRevoked(before)).isTrue();
+        assertThat(tokenRevocationService.isRevoked(relogin)).isFalse();
+        assertThat(tokenRevocationService.isRevoked(legacy)).isTrue();
+    }
+
+    private Claims claims(String jti, String subject, Date issuedAt) {
+        Claims claims = Jwts.claims();
+        claims.setId(jti);
+        claims.setSubject(subject);
+        claims.setIssuedAt(issuedAt);
+        claims.setExpiration(new Date(issuedAt.getTime() + 86400000L));
+        return claims;
+    }
+}
@@ -0,0 +1,100 @@
+package com.socialmedia.editor.service;
+
+import com.socialmedia.editor.event.UserChangedEvent;
+import com.socialmedia.editor.model.User;
+import com.socialmedia.editor.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserPrincipalCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = new User("testuser", "test@example.com", "encoded");
+        user.setId(1L);
+    }
+
+    @Test
+    void getUser_WhenCalledAgain_ShouldServeFromCache() {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        UserPrincipalCache cache = new UserPrincipalCache(userRepository, meterRegistry, 100, Duration.ofMinutes(5));
+
+        assertThat(cache.getUser("testuser")).contains(user);
+        assertThat(cache.getUser("testuser")).contains(user);
+
+        verify(userRepository, times(1)).findByUsername("testuser");
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "principals").tag("result", "hit")
+                .functionCounter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    void getUser_WhenUserDoesNotExist_ShouldReturnEmpty() {
+        when(userRepository.findByUsername("nobody")).thenReturn(Optional.empty());
+        UserPrincipalCache cache = new UserPrincipalCache(userRepository, meterRegistry, 100, Duration.ofMinutes(5));
+
+        assertThat(cache.getUser("nobody")).isEmpty();
+    }
+
+    @Test
+    void getUser_AfterTtl_ShouldReloadTheUser() throws InterruptedException {
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        UserPrincipalCache cache = new UserPrincipalCache(userRepository, meterRegistry, 100, Duration.ofMillis(50));
+
+        cache.getUser("testuser");
+        Thread.sleep(150);
+        cache.getUser("testuser");
+
+        verify(userRepository, times(2)).findByUsername("testuser");
+    }
+
+    @Test
+    void onUserChanged_ShouldEvictSoTheNextLookupSeesTheNewRow() {
+        User updated = new User("testuser", "new@example.com", "encoded");
+        updated.setId(1L);
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user)).thenReturn(Optional.of(updated));
+        UserPrincipalCache cache = new UserPrincipalCache(userRepository, meterRegistry, 100, Duration.ofMinutes(5));
+
+        cache.getUser("testuser");
+        cache.onUserChanged(new UserChangedEvent("testuser"));
+
+        assertThat(cache.getUser("testuser")).contains(updated);
+        verify(userRepository, times(2)).findByUsername("testuser");
+    }
+
+    @Test
+    void invalidate_ShouldOnlyEvictThatUser() {
+        User other = new User("otheruser", "other@example.com", "encoded");
+        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(user));
+        when(userRepository.findByUsername("otheruser")).thenReturn(Optional.of(other));
+        UserPrincipalCache cache = new UserPrincipalCache(userRepository, meterRegistry, 100, Duration.ofMinutes(5));
+        cache.getUser("testuser");
+        cache.getUser("otheruser");
+
+        cache.invalidate("testuser");
+        cache.getUser("testuser");
+        cache.getUser("otheruser");
+
+        verify(userRepository, times(2)).findByUsername("testuser");
+        verify(userRepository, times(1)).findByUsername("otheruser");
+    }
+}
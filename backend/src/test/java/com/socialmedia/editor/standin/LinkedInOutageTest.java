@@ -0,0 +1,169 @@
+package com.socialmedia.editor.standin;
+
+import com.socialmedia.editor.config.HttpClientConfig;
+import com.socialmedia.editor.config.HttpClientRegistry;
+import com.socialmedia.editor.config.LinkedInConfig;
+import com.socialmedia.editor.connector.LinkedInPlatformConnector;
+import com.socialmedia.editor.connector.PlatformConnectorRegistry;
+import com.socialmedia.editor.dto.AccountRefreshJobDto;
+import com.socialmedia.editor.model.SocialMediaAccount;
+import com.socialmedia.editor.model.User;
+import com.socialmedia.editor.repository.SocialMediaAccountRepository;
+import com.socialmedia.editor.service.AccountRefreshService;
+import com.socialmedia.editor.service.AccountStatsSweeper;
+import com.socialmedia.editor.service.LinkedInConnectorService;
+import com.socialmedia.editor.service.LinkedInResilience;
+import com.socialmedia.editor.service.LinkedInTokenService;
+import com.socialmedia.editor.service.RefreshLeaseService;
+import com.socialmedia.editor.service.SocialMediaService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the real LinkedIn stats path against a stand-in that answers every call with 503.
+ */
+@ExtendWith(MockitoExtension.class)
+class LinkedInOutageTest {
+
+    @Mock
+    private SocialMediaAccountRepository socialMediaAccountRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private RefreshLeaseService refreshLeaseService;
+
+    private final HttpClientRegistry httpClientRegistry = new HttpClientRegistry(new HttpClientConfig());
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private UpstreamStandIn standIn;
+
+    private PlatformConnectorRegistry platformConnectorRegistry;
+
+    private SocialMediaService socialMediaService;
+
+    private User user;
+
+    private SocialMediaAccount account;
+
+    @BeforeEach
+    void setUp() {
+        standIn = UpstreamStandIn.start(0, UpstreamStandIn.Behaviour.fast().errorRate(1.0),
+                UpstreamStandIn.Behaviour.fast());
+
+        LinkedInConfig linkedInConfig = new LinkedInConfig();
+        linkedInConfig.setApiBaseUrl(standIn.baseUrl() + "/v2");
+        linkedInConfig.setTokenUri(standIn.baseUrl() + "/oauth/v2/accessToken");
+        LinkedInResilience resilience = new LinkedInResilience(meterRegistry,
+                Duration.ofSeconds(2), 2, Duration.ofMillis(1), Duration.ofMillis(5),
+                Duration.ofSeconds(1), 10, Duration.ofSeconds(30));
+        LinkedInConnectorService linkedInConnectorService = new LinkedInConnectorService(httpClientRegistry, resilience);
+        ReflectionTestUtils.setField(linkedInConnectorService, "linkedInConfig", linkedInConfig);
+        LinkedInTokenService linkedInTokenService = new LinkedInTokenService(meterRegistry);
+        ReflectionTestUtils.setField(linkedInTokenService, "linkedInConnectorService", linkedInConnectorService);
+        ReflectionTestUtils.setField(linkedInTokenService, "socialMediaAccountRepository", socialMediaAccountRepository);
+
+        platformConnectorRegistry = new PlatformConnectorRegistry(
+                List.of(new LinkedInPlatformConnector(linkedInConnectorService, linkedInTokenService)),
+                meterRegistry, new MockEnvironment(), 2, 10, Duration.ofSeconds(10));
+        socialMediaService = new SocialMediaService();
+        ReflectionTestUtils.setField(socialMediaService, "socialMediaAccountRepository", socialMediaAccountRepository);
+        ReflectionTestUtils.setField(socialMediaService, "platformConnectorRegistry", platformConnectorRegistry);
+        ReflectionTestUtils.setField(socialMediaService, "eventPublisher", eventPublisher);
+
+        user = new User("outageuser", "outage@example.com", "password123");
+        user.setId(1L);
+        account = new SocialMediaAccount(user, SocialMediaAccount.Platform.LINKEDIN, "LinkedIn");
+        account.setId(10L);
+        account.setAccessToken("token");
+        account.setFollowersCount(500L);
+        account.setFollowingCount(40L);
+        account.setPostsCount(0L);
+        when(socialMediaAccountRepository.findById(10L)).thenReturn(Optional.of(account));
+    }
+
+    @AfterEach
+    void tearDown() {
+        platformConnectorRegistry.shutdown();
+        standIn.close();
+        httpClientRegistry.dispose();
+    }
+
+    @Test
+    void refreshJob_WhenLinkedInAnswers503_ShouldFailAndKeepCurrentCounts() throws InterruptedException {
+        when(socialMediaAccountRepository.findByUserAndIsActiveTrue(user)).thenReturn(List.of(account));
+        AccountRefreshService accountRefreshService = new AccountRefreshService(socialMediaService, meterRegistry,
+                4, 2, 10, Duration.ofMinutes(5));
+
+        try {
+            AccountRefreshJobDto job = awaitCompletion(accountRefreshService,
+                    accountRefreshService.startRefresh(user).getJobId());
+
+            assertThat(job.getAccounts()).singleElement()
+                    .extracting(AccountRefreshJobDto.AccountResultDto::getStatus)
+                    .isEqualTo(AccountRefreshJobDto.AccountStatus.FAILED);
+            assertThat(account.getFollowersCount()).isEqualTo(500L);
+            assertThat(account.getFollowingCount()).isEqualTo(40L);
+        } finally {
+            accountRefreshService.shutdown();
+        }
+    }
+
+    @Test
+    void statsSweep_WhenLinkedInAnswers503_ShouldCountFailuresAndKeepCurrentCounts() throws InterruptedException {
+        when(refreshLeaseService.getNodeId()).thenReturn("node-a");
+        when(refreshLeaseService.rebalance(eq("node-a"), anyInt(), any())).thenReturn(List.of(0));
+        when(socialMediaAccountRepository.findStaleInShards(anyInt(), anyCollection(), any(), any()))
+                .thenReturn(List.of(account));
+        AccountStatsSweeper sweeper = new AccountStatsSweeper(refreshLeaseService, socialMediaAccountRepository,
+                socialMediaService, meterRegistry, new MockEnvironment(), 1, Duration.ofMinutes(3),
+                Duration.ofHours(6), 10, 2, 60);
+
+        try {
+            sweeper.sweep();
+            for (int i = 0; i < 250 && meterRegistry.counter("stats.refresh.accounts", "outcome", "failed").count() == 0; i++) {
+                Thread.sleep(20);
+            }
+
+            assertThat(meterRegistry.counter("stats.refresh.accounts", "outcome", "failed").count()).isEqualTo(1.0);
+            assertThat(meterRegistry.counter("stats.refresh.accounts", "outcome", "refreshed").count()).isZero();
+            assertThat(account.getFollowersCount()).isEqualTo(500L);
+            assertThat(account.getFollowingCount()).isEqualTo(40L);
+        } finally {
+            sweeper.stop();
+        }
+    }
+
+    private AccountRefreshJobDto awaitCompletion(AccountRefreshService accountRefreshService, String jobId)
+            throws InterruptedException {
+        for (int i = 0; i < 250; i++) {
+            AccountRefreshJobDto job = accountRefreshService.getJob(jobId, user).orElseThrow();
+            if (job.getStatus() == AccountRefreshJobDto.JobStatus.COMPLETED) {
+                return job;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("Refresh job did not complete");
+    }
+}
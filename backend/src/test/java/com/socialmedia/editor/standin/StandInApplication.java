@@ -0,0 +1,25 @@
+package com.socialmedia.editor.standin;
+
+import com.socialmedia.editor.SocialMediaEditorApplication;
+import org.springframework.boot.SpringApplication;
+
+import java.util.Properties;
+
+/**
+ * Starts the backend with the {@code standin} profile next to an {@link UpstreamStandIn}, for load
+ * testing publishing, OAuth and AI flows locally:
+ * {@code mvn spring-boot:test-run -Dspring-boot.run.main-class=com.socialmedia.editor.standin.StandInApplication}.
+ */
+public class StandInApplication {
+
+    public static void main(String[] args) {
+        Properties properties = System.getProperties();
+        UpstreamStandIn.start(Integer.parseInt(properties.getProperty("standin.port", "8089")),
+                UpstreamStandIn.Behaviour.fromProperties(properties, "standin.linkedin."),
+                UpstreamStandIn.Behaviour.fromProperties(properties, "standin.gemini."));
+
+        SpringApplication application = new SpringApplication(SocialMediaEditorApplication.class);
+        application.setAdditionalProfiles("standin");
+        application.run(args);
+    }
+}
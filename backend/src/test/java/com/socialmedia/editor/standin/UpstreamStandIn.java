@@ -0,0 +1,230 @@
+package com.socialmedia.editor.standin;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpMethod;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.convert.DurationStyle;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.time.Duration;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the LinkedIn and Gemini endpoints the backend calls, for load tests and
+ * integration tests that must not reach the real services.
+ * <p>
+ * Point {@code linkedin.oauth.token-uri} at {@code /oauth/v2/accessToken},
+ * {@code linkedin.oauth.api-base-url} at {@code /v2} and {@code gemini.base-url} at {@code /v1beta}
+ * on this server (see {@code application-standin.yml}); Gemini's {@code generateContent} and SSE
+ * {@code streamGenerateContent} are both served. Each upstream has its own {@link Behaviour}: a
+ * log-normal latency, a share of 503 answers and a share of 429 answers with {@code Retry-After}.
+ * <p>
+ * Run {@link #main} to keep one up for a load test, or {@code StandInApplication} to start it together
+ * with the backend on the {@code standin} profile; settings come from {@code standin.*} system
+ * properties, e.g. {@code -Dstandin.gemini.latency-median=4s -Dstandin.linkedin.throttle-rate=0.05}.
+ */
+public class UpstreamStandIn implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpstreamStandIn.class);
+
+    public static final int STREAM_CHUNKS = 3;
+
+    private final Behaviour linkedIn;
+
+    private final Behaviour gemini;
+
+    private final DisposableServer server;
+
+    private final AtomicLong requests = new AtomicLong();
+
+    private final AtomicLong posts = new AtomicLong();
+
+    private UpstreamStandIn(int port, Behaviour linkedIn, Behaviour gemini) {
+        this.linkedIn = linkedIn;
+        this.gemini = gemini;
+        this.server = HttpServer.create()
+                .host("localhost")
+                .port(port)
+                .handle(this::handle)
+                .bindNow();
+    }
+
+    /**
+     * @param port 0 for any free port
+     */
+    public static UpstreamStandIn start(int port, Behaviour linkedIn, Behaviour gemini) {
+        return new UpstreamStandIn(port, linkedIn, gemini);
+    }
+
+    public static void main(String[] args) {
+        Properties properties = System.getProperties();
+        UpstreamStandIn standIn = start(Integer.parseInt(properties.getProperty("standin.port", "8089")),
+                Behaviour.fromProperties(properties, "standin.linkedin."),
+                Behaviour.fromProperties(properties, "standin.gemini."));
+        logger.info("Upstream stand-in listening on {}", standIn.baseUrl());
+        standIn.server.onDispose().block();
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + server.port();
+    }
+
+    /**
+     * @return requests received so far, including those answered with an injected error
+     */
+    public long requestCount() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    private Mono<Void> handle(HttpServerRequest request, HttpServerResponse response) {
+        String path = new QueryStringDecoder(request.uri()).path();
+        boolean post = request.method().equals(HttpMethod.POST);
+        Behaviour behaviour = path.startsWith("/v1beta/") ? gemini : linkedIn;
+        requests.incrementAndGet();
+
+        return request.receive().aggregate().asString().defaultIfEmpty("")
+                .then(Mono.delay(behaviour.sampleLatency()))
+                .then(Mono.defer(() -> {
+                    double roll = ThreadLocalRandom.current().nextDouble();
+                    if (roll < behaviour.throttleRate) {
+                        return response.status(429)
+                                .header(HttpHeaderNames.RETRY_AFTER, String.valueOf(behaviour.retryAfter.getSeconds()))
+                                .send();
+                    }
+                    if (roll < behaviour.throttleRate + behaviour.errorRate) {
+                        return response.status(503).send();
+                    }
+                    return route(post, path, request, response);
+                }));
+    }
+
+    private Mono<Void> route(boolean post, String path, HttpServerRequest request, HttpServerResponse response) {
+        if (post && path.equals("/oauth/v2/accessToken")) {
+            return json(response, 200, "{\"access_token\":\"standin-" + UUID.randomUUID() + "\","
+                    + "\"expires_in\":5184000,\"refresh_token\":\"standin-refresh\","
+                    + "\"refresh_token_expires_in\":31536000,\"scope\":\"w_member_social\",\"token_type\":\"Bearer\"}");
+        }
+        if (path.startsWith("/v2/") && !request.requestHeaders().contains(HttpHeaderNames.AUTHORIZATION)) {
+            return response.status(401).send();
+        }
+        if (!post && path.equals("/v2/me")) {
+            return json(response, 200, "{\"id\":\"standin-member\",\"localizedFirstName\":\"Stand\","
+                    + "\"localizedLastName\":\"In\"}");
+        }
+        if (!post && path.equals("/v2/userinfo")) {
+            return json(response, 200, "{\"sub\":\"standin-member\",\"email\":\"standin@example.com\","
+                    + "\"numFollowers\":120,\"firstDegreeSize\":45}");
+        }
+        if (post && path.equals("/v2/ugcPosts")) {
+            return response.status(201)
+                    .header("X-RestLi-Id", "urn:li:share:" + posts.incrementAndGet())
+                    .send();
+        }
+        if (post && path.startsWith("/v1beta/models/") && path.endsWith(":generateContent")) {
+            return json(response, 200, "{\"candidates\":[{\"content\":{\"role\":\"model\",\"parts\":"
+                    + "[{\"text\":\"Stand-in reply #" + requests.get() + "\"}]},\"finishReason\":\"STOP\"}]}");
+        }
+        if (post && path.startsWith("/v1beta/models/") && path.endsWith(":streamGenerateContent")) {
+            return response.status(200)
+                    .header(HttpHeaderNames.CONTENT_TYPE, "text/event-stream")
+                    .sendString(Flux.range(1, STREAM_CHUNKS)
+                            .delayElements(Duration.ofMillis(10))
+                            .map(chunk -> "data: {\"candidates\":[{\"content\":{\"role\":\"model\",\"parts\":"
+                                    + "[{\"text\":\"chunk " + chunk + " \"}]}}]}\n\n"))
+                    .then();
+        }
+        return response.status(404).send();
+    }
+
+    private Mono<Void> json(HttpServerResponse response, int status, String body) {
+        return response.status(status)
+                .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                .sendString(Mono.just(body))
+                .then();
+    }
+
+    /**
+     * How one upstream behaves. Latency is log-normal around {@code latencyMedian} with
+     * {@code latencyP99} as its 99th percentile; equal values give a fixed latency.
+     */
+    public static class Behaviour {
+
+        private static final double Z_99 = 2.326;
+
+        private Duration latencyMedian = Duration.ZERO;
+
+        private Duration latencyP99 = Duration.ZERO;
+
+        private double errorRate;
+
+        private double throttleRate;
+
+        private Duration retryAfter = Duration.ofSeconds(1);
+
+        public static Behaviour fast() {
+            return new Behaviour();
+        }
+
+        public static Behaviour fromProperties(Properties properties, String prefix) {
+            String median = properties.getProperty(prefix + "latency-median", "0s");
+            return new Behaviour()
+                    .latency(DurationStyle.detectAndParse(median),
+                            DurationStyle.detectAndParse(properties.getProperty(prefix + "latency-p99", median)))
+                    .errorRate(Double.parseDouble(properties.getProperty(prefix + "error-rate", "0")))
+                    .throttleRate(Double.parseDouble(properties.getProperty(prefix + "throttle-rate", "0")))
+                    .retryAfter(DurationStyle.detectAndParse(properties.getProperty(prefix + "retry-after", "1s")));
+        }
+
+        public Behaviour latency(Duration median, Duration p99) {
+            this.latencyMedian = median;
+            this.latencyP99 = p99.compareTo(median) < 0 ? median : p99;
+            return this;
+        }
+
+        /**
+         * @param errorRate share of requests answered with 503
+         */
+        public Behaviour errorRate(double errorRate) {
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        /**
+         * @param throttleRate share of requests answered with 429 and {@link #retryAfter}
+         */
+        public Behaviour throttleRate(double throttleRate) {
+            this.throttleRate = throttleRate;
+            return this;
+        }
+
+        public Behaviour retryAfter(Duration retryAfter) {
+            this.retryAfter = retryAfter;
+            return this;
+        }
+
+        Duration sampleLatency() {
+            long medianNanos = latencyMedian.toNanos();
+            if (medianNanos == 0) {
+                return Duration.ZERO;
+            }
+            double sigma = Math.log((double) latencyP99.toNanos() / medianNanos) / Z_99;
+            double sample = medianNanos * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian());
+            return Duration.ofNanos((long) sample);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.socialmedia.editor.standin;
+
+import com.socialmedia.editor.ai.GoogleGeminiChatModel;
+import com.socialmedia.editor.config.HttpClientConfig;
+import com.socialmedia.editor.config.HttpClientRegistry;
+import com.socialmedia.editor.config.LinkedInConfig;
+import com.socialmedia.editor.dto.LinkedInTokenResponseDto;
+import com.socialmedia.editor.service.LinkedInConnectorService;
+import com.socialmedia.editor.service.LinkedInResilience;
+import com.socialmedia.editor.service.LinkedInUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+class UpstreamStandInTest {
+
+    private final HttpClientRegistry httpClientRegistry = new HttpClientRegistry(new HttpClientConfig());
+
+    private UpstreamStandIn standIn;
+
+    @AfterEach
+    void tearDown() {
+        standIn.close();
+        httpClientRegistry.dispose();
+    }
+
+    @Test
+    void linkedInConnector_AgainstStandIn_ShouldCompleteConnectAndPublishFlow() {
+        standIn = UpstreamStandIn.start(0, UpstreamStandIn.Behaviour.fast(), UpstreamStandIn.Behaviour.fast());
+        LinkedInConnectorService connector = linkedInConnector();
+
+        LinkedInTokenResponseDto token = connector.exchangeAuthorizationCode("code").block();
+
+        assertThat(token.getAccessToken()).startsWith("standin-");
+        assertThat(connector.getUserProfile(token.getAccessToken()).block().getId()).isEqualTo("standin-member");
+        assertThat(connector.getUserStats(token.getAccessToken()).block().getFollowersCount()).isEqualTo(120L);
+        assertThat(connector.publishPost(token.getAccessToken(), "hello").block()).isEqualTo("urn:li:share:1");
+    }
+
+    @Test
+    void linkedInConnector_WhenStandInThrottles_ShouldRetryThenGiveUp() {
+        standIn = UpstreamStandIn.start(0,
+                UpstreamStandIn.Behaviour.fast().throttleRate(1.0).retryAfter(Duration.ZERO),
+                UpstreamStandIn.Behaviour.fast());
+        LinkedInConnectorService connector = linkedInConnector();
+
+        assertThatThrownBy(() -> connector.getUserProfile("token").block())
+                .hasMessageContaining("Failed to fetch user profile");
+        assertThat(standIn.requestCount()).isEqualTo(3);
+    }
+
+    @Test
+    void linkedInConnector_WhenStatsKeepFailing_ShouldFailThenOpenCircuit() {
+        standIn = UpstreamStandIn.start(0, UpstreamStandIn.Behaviour.fast().errorRate(1.0),
+                UpstreamStandIn.Behaviour.fast());
+        LinkedInConnectorService connector = linkedInConnector();
+
+        assertThatThrownBy(() -> connector.getUserStats("token").block())
+                .hasMessageContaining("Failed to fetch user stats");
+        Throwable failure = null;
+        for (int i = 0; i < 10 && !(failure instanceof LinkedInUnavailableException); i++) {
+            failure = catchThrowable(() -> connector.getUserStats("token").block());
+        }
+        long requests = standIn.requestCount();
+
+        assertThat(failure).isInstanceOf(LinkedInUnavailableException.class);
+        assertThatThrownBy(() -> connector.getUserStats("token").block())
+                .isInstanceOf(LinkedInUnavailableException.class);
+        assertThat(standIn.requestCount()).isEqualTo(requests);
+    }
+
+    @Test
+    void linkedInConnector_WhenTokenRefreshGetsServerError_ShouldNotRepeatTheExchange() {
+        standIn = UpstreamStandIn.start(0, UpstreamStandIn.Behaviour.fast().errorRate(1.0),
+                UpstreamStandIn.Behaviour.fast());
+        LinkedInConnectorService connector = linkedInConnector();
+
+        assertThatThrownBy(() -> connector.refreshAccessToken("standin-refresh").block())
+                .hasMessageContaining("Failed to refresh access token");
+        assertThat(standIn.requestCount()).isEqualTo(1);
+    }
+
+    @Test
+    void geminiModel_AgainstStandIn_ShouldReturnGeneratedText() {
+        standIn = UpstreamStandIn.start(0, UpstreamStandIn.Behaviour.fast(),
+                UpstreamStandIn.Behaviour.fast().latency(Duration.ofMillis(20), Duration.ofMillis(50)));
+        GoogleGeminiChatModel model = GoogleGeminiChatModel.builder()
+                .webClient(httpClientRegistry.webClient("gemini").baseUrl(standIn.baseUrl() + "/v1beta").build())
+                .apiKey("standin")
+                .modelName("gemini-test")
+                .build();
+
+        assertThat(model.generate("Write a post")).startsWith("Stand-in reply");
+    }
+
+    @Test
+    void geminiModel_WhenCalledAsynchronously_ShouldCompleteWithoutBlockingTheCaller() throws Exception {
+        standIn = UpstreamStandIn.start(0, UpstreamStandIn.Behaviour.fast(),
+                UpstreamStandIn.Behaviour.fast().latency(Duration.ofMillis(200), Duration.ofMillis(200)));
+        GoogleGeminiChatModel model = GoogleGeminiChatModel.builder()
+                .webClient(httpClientRegistry.webClient("gemini").baseUrl(standIn.baseUrl() + "/v1beta").build())
+                .apiKey("standin")
+                .modelName("gemini-test")
+                .build();
+
+        CompletableFuture<String> reply = model.generateAsync("Write a post");
+
+        assertThat(reply).isNotDone();
+        assertThat(reply.get(5, TimeUnit.SECONDS)).startsWith("Stand-in reply");
+    }
+
+    @Test
+    void geminiModel_WhenStreaming_ShouldEmitChunksAsTheyArrive() {
+        standIn = UpstreamStandIn.start(0, UpstreamStandIn.Behaviour.fast(), UpstreamStandIn.Behaviour.fast());
+        GoogleGeminiChatModel model = GoogleGeminiChatModel.builder()
+                .webClient(httpClientRegistry.webClient("gemini").baseUrl(standIn.baseUrl() + "/v1beta").build())
+                .apiKey("standin")
+                .modelName("gemini-test")
+                .build();
+
+        List<String> chunks = model.stream("Write a post").collectList().block();
+
+        assertThat(chunks).hasSize(UpstreamStandIn.STREAM_CHUNKS).first().isEqualTo("chunk 1 ");
+    }
+
+    private LinkedInConnectorService linkedInConnector() {
+        LinkedInResilience resilience = new LinkedInResilience(new SimpleMeterRegistry(),
+                Duration.ofSeconds(2), 2, Duration.ofMillis(1), Duration.ofMillis(5),
+                Duration.ofSeconds(1), 10, Duration.ofSeconds(30));
+        LinkedInConfig linkedInConfig = new LinkedInConfig();
+        linkedInConfig.setClientId("standin");
+        linkedInConfig.setClientSecret("standin");
+        linkedInConfig.setRedirectUri("http://localhost/callback");
+        linkedInConfig.setTokenUri(standIn.baseUrl() + "/oauth/v2/accessToken");
+        linkedInConfig.setApiBaseUrl(standIn.baseUrl() + "/v2");
+
+        LinkedInConnectorService connector = new LinkedInConnectorService(httpClientRegistry, resilience);
+        ReflectionTestUtils.setField(connector, "linkedInConfig", linkedInConfig);
+        return connector;
+    }
+}
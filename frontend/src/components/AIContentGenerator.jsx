@@ -1,4 +1,4 @@
-import React, { useState } from 'react';
+import React, { useEffect, useRef, useState } from 'react';
 import aiService from '../services/aiService';
 
 const AIContentGenerator = ({ onContentGenerated, existingContent = '' }) => {
@@ -11,6 +11,22 @@ const AIContentGenerator = ({ onContentGenerated, existingContent = '' }) => {
   const [hashtags, setHashtags] = useState([]);
   const [variations, setVariations] = useState([]);
   const [error, setError] = useState('');
+  const streamRef = useRef(null);
+
+  // stop any generation still streaming when the generator goes away
+  useEffect(() => () => streamRef.current?.abort(), []);
+
+  const streamInto = async (stream, request) => {
+    streamRef.current?.abort();
+    const controller = new AbortController();
+    streamRef.current = controller;
+    setGeneratedContent('');
+
+    const text = await stream(request, (chunk, textSoFar) => setGeneratedContent(textSoFar), controller.signal);
+    if (onContentGenerated) {
+      onContentGenerated(text);
+    }
+  };
 
   const handleGenerateContent = async () => {
     if (!prompt.trim()) {
@@ -30,18 +46,11 @@ const AIContentGenerator = ({ onContentGenerated, existingContent = '' }) => {
         existingContent
       };
 
-      const response = await aiService.generateContent(request);
-
-      if (response.success) {
-        setGeneratedContent(response.generatedContent);
-        if (onContentGenerated) {
-          onContentGenerated(response.generatedContent);
-        }
-      } else {
-        setError(response.errorMessage || 'Failed to generate content');
-      }
+      await streamInto(aiService.streamContent, request);
     } catch (err) {
-      setError(`Error generating content: ${err.errorMessage || err}`);
+      if (err.name !== 'AbortError') {
+        setError(`Error generating content: ${err.message || err}`);
+      }
     } finally {
       setLoading(false);
     }
@@ -65,18 +74,11 @@ const AIContentGenerator = ({ onContentGenerated, existingContent = '' }) => {
         existingContent
       };
 
-      const response = await aiService.improveContent(request);
-
-      if (response.success) {
-        setGeneratedContent(response.generatedContent);
-        if (onContentGenerated) {
-          onContentGenerated(response.generatedContent);
-        }
-      } else {
-        setError(response.errorMessage || 'Failed to improve content');
-      }
+      await streamInto(aiService.streamImprovedContent, request);
     } catch (err) {
-      setError(`Error improving content: ${err.errorMessage || err}`);
+      if (err.name !== 'AbortError') {
+        setError(`Error improving content: ${err.message || err}`);
+      }
     } finally {
       setLoading(false);
     }
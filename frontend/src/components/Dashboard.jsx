@@ -140,8 +140,16 @@ const Dashboard = ({ user, onLogout }) => {
 
   const handleRefresh = async () => {
     try {
-      await dashboardService.refreshAccountStats();
+      let { data: job } = await dashboardService.refreshAccountStats();
+      while (job.status === 'RUNNING') {
+        await new Promise((resolve) => setTimeout(resolve, 1000));
+        ({ data: job } = await dashboardService.getRefreshStatus(job.jobId));
+      }
       await loadDashboardData();
+      const failed = job.accounts.filter((account) => account.status === 'FAILED');
+      if (failed.length > 0) {
+        setError(`Failed to refresh ${failed.length} account(s)`);
+      }
     } catch (err) {
       setError('Failed to refresh account stats');
     }
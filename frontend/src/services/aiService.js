@@ -11,6 +11,64 @@ const createAuthHeaders = () => {
   return token ? { Authorization: `Bearer ${token}` } : {};
 };
 
+// Reads the server-sent events of a /stream endpoint, calling onChunk with each piece of text.
+// Resolves with the full text; aborting the signal stops the stream and the upstream generation.
+const streamFromEndpoint = async (path, request, onChunk, signal) => {
+  const response = await fetch(`${API_BASE_URL}${path}`, {
+    method: 'POST',
+    headers: {
+      'Content-Type': 'application/json',
+      Accept: 'text/event-stream',
+      ...createAuthHeaders()
+    },
+    body: JSON.stringify(request),
+    signal
+  });
+  if (!response.ok || !response.body) {
+    throw new Error(`Streaming request failed with status ${response.status}`);
+  }
+
+  const reader = response.body.getReader();
+  const decoder = new TextDecoder();
+  let buffer = '';
+  let fullText = '';
+
+  while (true) {
+    const { value, done } = await reader.read();
+    if (done) {
+      return fullText;
+    }
+    buffer += decoder.decode(value, { stream: true });
+
+    let boundary;
+    while ((boundary = buffer.indexOf('\n\n')) >= 0) {
+      const rawEvent = buffer.slice(0, boundary);
+      buffer = buffer.slice(boundary + 2);
+
+      let eventName = 'message';
+      const dataLines = [];
+      rawEvent.split('\n').forEach((line) => {
+        if (line.startsWith('event:')) {
+          eventName = line.slice(6).trim();
+        } else if (line.startsWith('data:')) {
+          dataLines.push(line.slice(5));
+        }
+      });
+      const data = dataLines.length ? JSON.parse(dataLines.join('\n')) : {};
+
+      if (eventName === 'chunk') {
+        fullText += data.text;
+        onChunk(data.text, fullText);
+      } else if (eventName === 'error') {
+        throw new Error(data.text);
+      } else if (eventName === 'done') {
+        reader.cancel();
+        return fullText;
+      }
+    }
+  }
+};
+
 const aiService = {
   generateContent: async (request) => {
     try {
@@ -40,6 +98,12 @@ const aiService = {
     }
   },
 
+  streamContent: (request, onChunk, signal) =>
+    streamFromEndpoint('/generate/stream', request, onChunk, signal),
+
+  streamImprovedContent: (request, onChunk, signal) =>
+    streamFromEndpoint('/improve/stream', request, onChunk, signal),
+
   generateHashtags: async (request) => {
     try {
       const response = await axios.post(
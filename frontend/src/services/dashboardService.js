@@ -15,6 +15,13 @@ const dashboardService = {
     return axios.post(`${API_BASE_URL}/dashboard/refresh`, {}, {
       headers: { Authorization: `Bearer ${token}` }
     });
+  },
+
+  getRefreshStatus: (jobId) => {
+    const token = localStorage.getItem('token');
+    return axios.get(`${API_BASE_URL}/dashboard/refresh/${jobId}`, {
+      headers: { Authorization: `Bearer ${token}` }
+    });
   }
 };
 